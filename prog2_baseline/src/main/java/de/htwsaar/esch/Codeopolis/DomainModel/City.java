@@ -1,6 +1,8 @@
 package de.htwsaar.esch.Codeopolis.DomainModel;
 
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 import de.htwsaar.esch.Codeopolis.DomainModel.Game.GrainType;
 import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.*;
@@ -16,11 +18,20 @@ public class City extends GameEntity {
     private int residents;
     private int year = 0;
     private int fed = -1;
-	private Random fortune;
+	private RandomGenerator fortune; // All randomness of the city is drawn from this generator
 	private Grain[] planted;
     private GameConfig config;
     private String name;
     private Depot depot;
+    private WeatherService weather; // Shared with the other cities of the world, null if the city draws its own conditions
+    private int region;
+    // Incremented whenever the city changes, the cached state is only valid for the count it was created at
+    private int modCount;
+    private CityState cachedState;
+    private int cachedStateModCount;
+    private long stateCacheHits;
+    private long stateCacheMisses;
+    private final CityView view = new View();
     
     /**
      * Constructs a new City object with the specified name and game configuration.
@@ -29,10 +40,37 @@ public class City extends GameEntity {
      * @param config The game configuration.
      */
     public City(String id, String name, GameConfig config) {
+    	this(id, name, config, new Random());
+    }
+
+    /**
+     * Constructs a new City object whose randomness is drawn from a generator with the given seed,
+     * so the city develops the same way for the same seed and decisions.
+     * 
+     * @param id The unique identifier of the city.
+     * @param name The name of the city.
+     * @param config The game configuration.
+     * @param seed The seed of the random number generator of the city.
+     */
+    public City(String id, String name, GameConfig config, long seed) {
+    	this(id, name, config, new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructs a new City object that draws all its randomness from the given generator:
+     * population growth, rat infestation, the conditions of each year and the magic wheat.
+     * The generator must not be shared with cities running on other threads.
+     * 
+     * @param id The unique identifier of the city.
+     * @param name The name of the city.
+     * @param config The game configuration.
+     * @param fortune The random number generator of the city.
+     */
+    public City(String id, String name, GameConfig config, RandomGenerator fortune) {
     	super(id);
     	this.name = name;
     	this.config = config;
-    	this.fortune = new Random();
+    	this.fortune = fortune;
     	setupCity();
     }
 
@@ -43,17 +81,28 @@ public class City extends GameEntity {
      * @param cityState The state of the city to use for initialization.
      */
     public City(CityState cityState, GameConfig config) {
+        this(cityState, config, new Random());
+    }
+
+    /**
+     * Constructs a new City object using the state of an existing city that draws all its randomness from the given generator.
+     * 
+     * @param cityState The state of the city to use for initialization.
+     * @param config The game configuration.
+     * @param fortune The random number generator of the city.
+     */
+    public City(CityState cityState, GameConfig config, RandomGenerator fortune) {
         super(cityState.getId());
         this.name = cityState.getName();
         this.config = config;  
-        this.fortune = new Random();
+        this.fortune = fortune;
         
         this.acres = cityState.getAcres();
         this.planted = new Grain[Game.GrainType.values().length];
         this.residents = cityState.getResidents();
         this.year = cityState.getYear();
 
-        this.depot = new Depot(cityState.getSilos());  
+        this.depot = new Depot(cityState.getDepotSnapshot());  
     }
 
     
@@ -81,8 +130,23 @@ public class City extends GameEntity {
      */
     public void expandDepot(int numberOfSilos, int capacityPerSilo) {
     	this.depot.expand(numberOfSilos, capacityPerSilo);
+    	this.modCount++;
     }
     
+	/**
+     * Lets the city read the conditions of each year from a weather service shared by all cities of the world
+     * instead of drawing them itself, so all cities of a region see the same weather.
+     *
+     * @param weather The weather service, or null to let the city draw its own conditions again.
+     * @param region The region of the city.
+     */
+    public void setWeather(WeatherService weather, int region) {
+    	if (weather != null && (region < 0 || region >= weather.getRegions()))
+    		throw new IllegalArgumentException("The weather service has no region " + region);
+    	this.weather = weather;
+    	this.region = region;
+    }
+
 	/**
      * Attempts to buy the specified number of acres at the given price.
      * 
@@ -94,13 +158,17 @@ public class City extends GameEntity {
 		// changed from this.acres
 		if(acres == 0)
 			return;
-		if(price * acres > this.depot.getTotalFillLevel())
-			throw new InsufficientResourcesException("Insufficient resources to buy " + acres + " acres.", price * acres, this.depot.getTotalFillLevel());
-		this.depot.takeOut(price * acres);
+		long cost = (long) price * acres;
+		if(cost > this.depot.getTotalFillLevelLong())
+			throw new InsufficientResourcesException("Insufficient resources to buy " + acres + " acres.", cost, this.depot.getTotalFillLevelLong());
+		// The depot takes out at most Integer.MAX_VALUE bushels at a time
+		for(long remaining = cost; remaining > 0; remaining -= Integer.MAX_VALUE)
+			this.depot.takeOut((int) Math.min(remaining, Integer.MAX_VALUE));
 		if(this.acres + acres >= 0) //Avoid integer overflow
 			this.acres += acres;
 		else
 			this.acres = Integer.MAX_VALUE;
+		this.modCount++;
 	}
 
 	/**
@@ -117,8 +185,10 @@ public class City extends GameEntity {
 			throw new LandOperationException("Attempting to sell more acres than available. You own "+this.acres+" acres and try to sell "+acres+" acres");
 		if(!this.depot.full()) {
 			this.acres -= acres;
-			for(Harvest h : buildNewEquallyDistributedHarvest(price * acres))
-				this.depot.store(h); //Issue #39
+			// One harvest per grain type holds at most Integer.MAX_VALUE bushels, proceeds beyond that are lost like those beyond the capacity of the depot
+			long proceeds = Math.min((long) price * acres, (long) Game.GrainType.values().length * Integer.MAX_VALUE);
+			this.depot.storeAll(buildNewEquallyDistributedHarvest(proceeds)); //Issue #39
+			this.modCount++;
 		}
 		else {
 			throw new DepotCapacityExceededException("Depot is full, cannot proceed with the sale", this.depot.getTotalFillLevel());
@@ -132,10 +202,11 @@ public class City extends GameEntity {
      * @return True if the feeding was successful, false otherwise.
      */
 	public void feed(int feed) throws InsufficientResourcesException{
-		if(feed>this.depot.getTotalFillLevel())
+		if(feed>this.depot.getTotalFillLevelLong())
 			throw new InsufficientResourcesException("Insufficient resources to feed " + feed + " bushels.", feed, this.depot.getTotalFillLevel());
 		this.depot.takeOut(feed);
 		this.fed = feed;
+		this.modCount++;
 	}
 	
 	/**
@@ -149,8 +220,7 @@ public class City extends GameEntity {
 
 	// method to
 	public boolean checkTenPercentProbability() {
-		Random random = new Random();
-		int randomValue = random.nextInt(100);  // Generates a random integer between 0 and 99
+		int randomValue = this.fortune.nextInt(100);  // Generates a random integer between 0 and 99
 		return randomValue < 10;  // Returns true for values 0-9, which is 10% of the time
 
     }
@@ -158,11 +228,6 @@ public class City extends GameEntity {
 
 	public void  plant(int[] acres) throws InsufficientResourcesException, LandOperationException{
 
-		// anonymous class to implement secret
-		
-
-
-
 		int acresSum = 0;
 		for (GrainType grainType : GrainType.values()) {
 	        int i = grainType.ordinal();
@@ -184,6 +249,7 @@ public class City extends GameEntity {
 		            "Not enough residents to plant " + acresSum + " acres. You can plant "+this.config.getAcrePerResident()+" acres per resident."
 		        );
 
+		this.modCount++;
 		Grain seed = null;
 		for (GrainType grainType : GrainType.values()) {
 			seed = null;
@@ -207,52 +273,9 @@ public class City extends GameEntity {
 	            break;
 	        case WHEAT:
 				if (checkTenPercentProbability()) {
-					System.out.println("Some Magic is happening!");
-					seed = new WinterGrain(12f, 0.4f, 0.1f) {
-						@Override
-						public void drought() {
-							this.yieldRatio *= 0.5;
-						}
-			
-						@Override
-						public void pestInfestation(Pests pest, Conditions conditions) {
-			
-							switch(pest) {
-								case FritFly:
-									this.yieldRatio *= 0.75f;
-									break;
-								case BarleyGoutFly:
-									this.yieldRatio *= 0.7f;
-									break;
-								default:
-									break;
-							}
-			
-						}
-			
-						@Override
-						public void diseaseOutbreak(Diseases disease, Conditions conditions) {
-							switch (disease) {
-								case PowderyMildew:
-									this.yieldRatio *= 0.7f;
-									break;
-								case LeafDrought:
-									if(conditions.getAverageTemperatureWinter() > this.getOPTIMAL_WINTER_TEMPERATURE() + 2f) {
-										this.yieldRatio *= 0.6f;
-									}
-									else {
-										this.yieldRatio *= 0.7;
-									}
-									break;
-								default:
-									break;
-							}
-			
-			
-						}
-					};
-
-					 break;
+					// The magic wheat responds like wheat but yields twice as much
+					seed = new Wheat(12f);
+					break;
 				}else {
 					seed = new Wheat();
 					break;
@@ -271,12 +294,12 @@ public class City extends GameEntity {
 	/**
 	 * Builds a new Harvest object with an equal distribution of grain based on the specified amount.
 	 *
-	 * @param amount The total amount of grain to be equally distributed among different grain types.
+	 * @param amount The total amount of grain to be equally distributed among different grain types, at most {@code Integer.MAX_VALUE} per grain type.
 	 * @return A new Harvest object with an equal distribution of grain.
 	 */
-    private Harvest[] buildNewEquallyDistributedHarvest(int amount) {
-    	int partition = amount / Game.GrainType.values().length;
-        int remainder = amount % Game.GrainType.values().length;
+    private Harvest[] buildNewEquallyDistributedHarvest(long amount) {
+    	int partition = (int) (amount / Game.GrainType.values().length);
+        int remainder = (int) (amount % Game.GrainType.values().length);
         Harvest[] harvests = new Harvest[Game.GrainType.values().length];
 
         for (Game.GrainType grainType : Game.GrainType.values()) {
@@ -299,6 +322,18 @@ public class City extends GameEntity {
      * @return The result of the turn.
      */
 	public TurnResult runTurn() {
+		return runTurn(true);
+	}
+
+	/**
+     * Runs a turn in the game for the city, updating its state and returning the result.
+     * A report of the depot takes a snapshot of the depot, which makes the next turn copy every silo it modifies,
+     * so headless runs that never read the report should run their turns without one.
+     * 
+     * @param withDepotReport Whether the result holds a report of the depot.
+     * @return The result of the turn, its depot report is null if none was requested.
+     */
+	public TurnResult runTurn(boolean withDepotReport) {
 		//Calculate how many inhabitants of the city starved to death:
 		int peopleStarved = this.residents - this.fed/this.config.getBushelsPerResident();
 		if(peopleStarved < 0)
@@ -317,27 +352,13 @@ public class City extends GameEntity {
 
 		//Calculation of the harvest:
 		int[] harvested = new int[Game.GrainType.values().length];
-		Grain.Conditions thisYearsConditions = Grain.Conditions.generateRandomConditions();
+		Grain.Conditions thisYearsConditions = (this.weather != null) ? this.weather.getConditions(this.region, this.year)
+				: Grain.Conditions.generateRandomConditions(this.fortune);
 
+		GrainResponseTable.STANDARD.grow(this.planted, thisYearsConditions);
 		for(int i = 0; i< Game.GrainType.values().length; i++) {
-			if(this.planted[i] != null) {
-				this.planted[i].grow(thisYearsConditions);
-				if(thisYearsConditions.isDrought())
-					this.planted[i].drought();
-				if(thisYearsConditions.isFusarium())
-					this.planted[i].diseaseOutbreak(Grain.Diseases.Fusarium, thisYearsConditions);
-				if(thisYearsConditions.isLeafDrought())
-					this.planted[i].diseaseOutbreak(Grain.Diseases.LeafDrought, thisYearsConditions);
-				if(thisYearsConditions.isPowderyMildew())
-					this.planted[i].diseaseOutbreak(Grain.Diseases.PowderyMildew, thisYearsConditions);
-				if(thisYearsConditions.isBarleyGoOutFly())
-					this.planted[i].pestInfestation(Grain.Pests.BarleyGoutFly, thisYearsConditions);
-				if(thisYearsConditions.isDeliaFly())
-					this.planted[i].pestInfestation(Grain.Pests.DeliaFly, thisYearsConditions);
-				if(thisYearsConditions.isFritFly())
-					this.planted[i].pestInfestation(Grain.Pests.FritFly, thisYearsConditions);
+			if(this.planted[i] != null)
 				harvested[i] = this.planted[i].harvest();	
-			}
 		}		
 		Harvest[] thisYearsHarvest = new Harvest[] {Harvest.createHarvest(Game.GrainType.BARLEY, harvested[Game.GrainType.BARLEY.ordinal()], this.year), 
 		        Harvest.createHarvest(Game.GrainType.CORN, harvested[Game.GrainType.CORN.ordinal()], this.year), 
@@ -346,13 +367,13 @@ public class City extends GameEntity {
 		        Harvest.createHarvest(Game.GrainType.RYE, harvested[Game.GrainType.RYE.ordinal()], this.year), 
 		        Harvest.createHarvest(Game.GrainType.WHEAT, harvested[Game.GrainType.WHEAT.ordinal()], this.year)};
 		
-		for(Harvest h : thisYearsHarvest)
-			this.depot.store(h); //Issue #40
+		this.depot.storeAll(thisYearsHarvest); //Issue #40
 		
 		//Calculation of how much grain was eaten by rats: 
 		int ateByRates = 0;
-		if(this.depot.getTotalFillLevel() > 0)
-			ateByRates = this.fortune.nextInt((this.depot.getTotalFillLevel()*this.config.getMaxRateInfestation())/100);
+		long maxAteByRates = Math.min(Integer.MAX_VALUE, this.depot.getTotalFillLevelLong()*this.config.getMaxRateInfestation()/100);
+		if(maxAteByRates > 0)
+			ateByRates = this.fortune.nextInt((int) maxAteByRates);
 		this.depot.takeOut(ateByRates);
 		
 		//Bushels in the depot decay. 
@@ -360,6 +381,7 @@ public class City extends GameEntity {
 		
 		//Increment the year by 1:
 		this.year++;
+		this.modCount++;
 		
 		
 		return new TurnResult(this.name, 
@@ -367,15 +389,15 @@ public class City extends GameEntity {
 				newResidents, 
 				harvested, 
 				this.residents, 
-				this.depot.getBushelsCategorizedByGrainType(), 
+				this.depot.getBushelsCategorizedByGrainTypeLong(), 
 				peopleStarved, 
 				this.acres, 
 				ateByRates, 
 				peopleStarvedPercentage, 
 				bushelsDecayed, 
-				this.depot.totalCapacity(), 
-				this.depot.totalCapacity() - this.depot.getTotalFillLevel(), 
-				this.depot.toString());
+				this.depot.totalCapacityLong(), 
+				this.depot.totalCapacityLong() - this.depot.getTotalFillLevelLong(), 
+				withDepotReport ? this.depot.report() : null);
 	}
 	
 	/**
@@ -392,11 +414,80 @@ public class City extends GameEntity {
 
 	/**
      * Returns the current state of the city.
+     * The silos are captured as a snapshot that shares them with the depot, so the state is created in constant time.
+     * The state is cached and returned again until the city is changed by one of its operations.
      * 
      * @return The CityState object representing the current state.
      */
 	public CityState getState() {
-		return new CityState(this.name, this.getId(), this.residents, this.depot.getBushelsCategorizedByGrainType(), this.acres, this.year, this.depot.totalCapacity() - this.depot.getTotalFillLevel(), this.depot.getSilos());
+		if(this.cachedState != null && this.cachedStateModCount == this.modCount) {
+			this.stateCacheHits++;
+			return this.cachedState;
+		}
+		this.stateCacheMisses++;
+		this.cachedState = new CityState(this.name, this.getId(), this.residents, this.depot.getBushelsCategorizedByGrainTypeLong(), this.acres, this.year, this.depot.totalCapacityLong() - this.depot.getTotalFillLevelLong(), this.depot.snapshot());
+		this.cachedStateModCount = this.modCount;
+		return this.cachedState;
+	}
+
+	/**
+	 * Returns a read-only view of the city. Unlike {@link #getState()} the view takes no snapshot of the depot,
+	 * it reads the current figures of the city whenever they are asked for, so it always reflects the latest operation.
+	 * 
+	 * @return The view of this city.
+	 */
+	public CityView getView() {
+		return this.view;
+	}
+
+	private final class View implements CityView {
+		@Override
+		public int getResidents() {
+			return residents;
+		}
+
+		@Override
+		public int getAcres() {
+			return acres;
+		}
+
+		@Override
+		public int getYear() {
+			return year;
+		}
+
+		@Override
+		public long getBushelsLong(GrainType grainType) {
+			return depot.getFillLevelLong(grainType);
+		}
+
+		@Override
+		public long getTotalAmountOfBushelsLong() {
+			return depot.getTotalFillLevelLong();
+		}
+
+		@Override
+		public long getFreeStorageLong() {
+			return depot.totalCapacityLong() - depot.getTotalFillLevelLong();
+		}
+	}
+
+	/**
+     * Returns how often {@link #getState()} returned the cached state because the city did not change in between.
+     * 
+     * @return The number of cache hits.
+     */
+	public long getStateCacheHits() {
+		return this.stateCacheHits;
+	}
+
+	/**
+     * Returns how often {@link #getState()} had to create a new state.
+     * 
+     * @return The number of cache misses.
+     */
+	public long getStateCacheMisses() {
+		return this.stateCacheMisses;
 	}
 
 	/**
@@ -411,6 +502,7 @@ public class City extends GameEntity {
 	    this.depot.store(Harvest.createHarvest(Game.GrainType.RYE, 100000, this.year)); 
 	    this.depot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 100000, this.year));
 	    this.acres = 1000000;
+	    this.modCount++;
 	}
 
 }
@@ -1,23 +1,25 @@
 package de.htwsaar.esch.Codeopolis.DomainModel;
 
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.DepotSnapshot;
 import de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList;
 import de.htwsaar.esch.Codeopolis.DomainModel.Storage.Silo;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Represents the state of a city.
  */
-public class CityState implements Serializable {
+public class CityState implements CityView, Serializable {
     private int residents;
-    private int[] bushels;
+    private long[] bushels;
     private int acres;
     private int year;
     private String name;
     private String id;
-    private LinkedList<Silo> silos;
-    private int freeStorage;
+    private DepotSnapshot silos;
+    private long freeStorage;
 
     /**
      * Constructs a new CityState object with the specified residents, bushels, and acres.
@@ -29,9 +31,9 @@ public class CityState implements Serializable {
      * @param acres       The amount of land area of the city.
      * @param year        The current year of the city state.
      * @param freeStorage The number of free storage.
-     * @param silos       The array of silos representing the city's grain storage facilities.
+     * @param silos       The snapshot of the silos representing the city's grain storage facilities.
      */
-    public CityState(String name, String id, int residents, int[] bushels, int acres, int year, int freeStorage, LinkedList<Silo> silos) {
+    public CityState(String name, String id, int residents, long[] bushels, int acres, int year, long freeStorage, DepotSnapshot silos) {
         this.name = name;
         this.id = id;
         this.residents = residents;
@@ -67,25 +69,52 @@ public class CityState implements Serializable {
      * @return The number of free storage.
      */
     public int getFreeStorage() {
+        return (int) Math.min(this.freeStorage, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of free storage without limiting it to the int range.
+     *
+     * @return The number of free storage.
+     */
+    public long getFreeStorageLong() {
         return this.freeStorage;
     }
 
     /**
-     * Returns the silos in the city.
+     * Returns copies of the silos in the city.
      *
      * @return The array of silos.
      */
     public LinkedList<Silo> getSilos() {
+        return silos.getSilos();
+    }
+
+    /**
+     * Returns the snapshot of the silos in the city, which shares the silos with the depot and is therefore cheap to keep.
+     *
+     * @return The snapshot of the silos.
+     */
+    public DepotSnapshot getDepotSnapshot() {
         return silos;
     }
 
     /**
      * Returns the total number of bushels in the city.
      *
-     * @return The total number of bushels.
+     * @return The total number of bushels, at most {@code Integer.MAX_VALUE}.
      */
     public int getTotalAmountOfBushels() {
-        int total = 0;
+        return (int) Math.min(getTotalAmountOfBushelsLong(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the total number of bushels in the city without limiting it to the int range.
+     *
+     * @return The total number of bushels.
+     */
+    public long getTotalAmountOfBushelsLong() {
+        long total = 0;
         for (Game.GrainType grainType : Game.GrainType.values()) {
             total += this.bushels[grainType.ordinal()];
         }
@@ -96,19 +125,34 @@ public class CityState implements Serializable {
      * Returns the number of bushels of a specific grain type in the city.
      *
      * @param grainType The type of grain.
-     * @return The number of bushels of the specified grain type.
+     * @return The number of bushels of the specified grain type, at most {@code Integer.MAX_VALUE}.
      */
     public int getBushels(Game.GrainType grainType) {
+        return (int) Math.min(bushels[grainType.ordinal()], Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of bushels of a specific grain type in the city without limiting it to the int range.
+     *
+     * @param grainType The type of grain.
+     * @return The number of bushels of the specified grain type.
+     */
+    public long getBushelsLong(Game.GrainType grainType) {
         return bushels[grainType.ordinal()];
     }
 
     /**
      * Returns the number of bushels in the city.
+     * The states are shared by the callers of {@link City#getState()}, so a copy is returned.
      *
-     * @return The number of bushels.
+     * @return The number of bushels, amounts beyond the int range are reported as {@code Integer.MAX_VALUE}.
      */
     public int[] getBushels() {
-        return bushels;
+        int[] result = new int[bushels.length];
+        for (int i = 0; i < bushels.length; i++) {
+            result[i] = (int) Math.min(bushels[i], Integer.MAX_VALUE);
+        }
+        return result;
     }
 
     /**
@@ -149,7 +193,7 @@ public class CityState implements Serializable {
         return "CityState{" +
                 "name=" + name +
                 ", year=" + year +
-                ", bushels=" + bushels +
+                ", bushels=" + Arrays.toString(bushels) +
                 ", acres=" + acres +
                 ", residents='" + residents + '\'' +
                 '}';
@@ -175,11 +219,7 @@ public class CityState implements Serializable {
                 year == other.year &&
                 name.equals(other.name) &&
                 Arrays.equals(bushels, other.bushels) &&
-
-				//TODO: Fix this
-                silos.equals(other.silos);
-
-        //Arrays.equals(silos, other.silos);
+                Objects.equals(silos, other.silos);
     }
 
 
@@ -0,0 +1,40 @@
+package de.htwsaar.esch.Codeopolis.DomainModel;
+
+/**
+ * The figures of a city a decision can be based on.
+ * A {@link CityState} holds them as they were when the state was created, the view returned by {@link City#getView()}
+ * reads them from the city whenever they are asked for, without taking a snapshot of the depot.
+ */
+public interface CityView {
+
+    /**
+     * @return The number of residents.
+     */
+    int getResidents();
+
+    /**
+     * @return The amount of land area of the city.
+     */
+    int getAcres();
+
+    /**
+     * @return The current year.
+     */
+    int getYear();
+
+    /**
+     * @param grainType The type of grain.
+     * @return The number of bushels of the specified grain type.
+     */
+    long getBushelsLong(Game.GrainType grainType);
+
+    /**
+     * @return The total number of bushels.
+     */
+    long getTotalAmountOfBushelsLong();
+
+    /**
+     * @return The number of free storage spaces in the depot.
+     */
+    long getFreeStorageLong();
+}
@@ -1,6 +1,7 @@
 package de.htwsaar.esch.Codeopolis.DomainModel;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 import de.htwsaar.esch.Codeopolis.Exceptions.*;
 
@@ -55,7 +56,7 @@ public class Game extends GameEntity{
     private GameState state;
 	private City city;
 	private UserInterface ui;
-	private Random fortune;
+	private RandomGenerator fortune;
 	private GameConfig config;
 	
 	/**
@@ -67,11 +68,38 @@ public class Game extends GameEntity{
      * @param ui         the user interface for the game
      */
 	public Game(String id, String name, Game.Difficulty difficulty, UserInterface ui){
+		this(id, name, difficulty, ui, new SplittableRandom());
+	}
+
+	/**
+     * Constructs a new Game object that can be reproduced exactly from the given seed.
+     *
+     * @param id         the ID of the game
+     * @param name       the name of the game
+     * @param difficulty the difficulty level of the game
+     * @param ui         the user interface for the game
+     * @param seed       the seed all randomness of the game is derived from
+     */
+	public Game(String id, String name, Game.Difficulty difficulty, UserInterface ui, long seed){
+		this(id, name, difficulty, ui, new SplittableRandom(seed));
+	}
+
+	/**
+     * Constructs a new Game object. The configuration, the city and the prices of the game each get
+     * their own generator split off the given one, so none of them depends on how often the others draw.
+     *
+     * @param id         the ID of the game
+     * @param name       the name of the game
+     * @param difficulty the difficulty level of the game
+     * @param ui         the user interface for the game
+     * @param random     the generator the generators of the game are split off
+     */
+	private Game(String id, String name, Game.Difficulty difficulty, UserInterface ui, SplittableRandom random){
 		super(id); //Issue #4
-		this.config = new GameConfig(difficulty);	
-		this.city = new City(java.util.UUID.randomUUID().toString(), name, this.config); //Issue #1, Issue #3
+		this.config = new GameConfig(difficulty, random.split());	
+		this.city = new City(java.util.UUID.randomUUID().toString(), name, this.config, random.split()); //Issue #1, Issue #3
 		this.ui = ui;
-		this.fortune = new Random();
+		this.fortune = random.split();
 		this.state = GameState.PREPARED;
 	}
 	
@@ -84,11 +112,28 @@ public class Game extends GameEntity{
      * @param ui         the user interface for the game
      */
 	public Game(String id, CityState cityState, GameConfig gameConfig, UserInterface ui){
+		this(id, cityState, gameConfig, ui, new SplittableRandom());
+	}
+
+	/**
+     * Constructs a Game object with the specified city state whose further course is derived from the given seed.
+     *
+     * @param id         the ID of the game
+     * @param cityState  the state of the loaded city
+     * @param gameConfig the configuration of the loaded game
+     * @param ui         the user interface for the game
+     * @param seed       the seed all randomness of the game is derived from
+     */
+	public Game(String id, CityState cityState, GameConfig gameConfig, UserInterface ui, long seed){
+		this(id, cityState, gameConfig, ui, new SplittableRandom(seed));
+	}
+
+	private Game(String id, CityState cityState, GameConfig gameConfig, UserInterface ui, SplittableRandom random){
 		super(id); 
 		this.config = gameConfig;
-		this.city = new City(cityState, gameConfig); 
+		this.city = new City(cityState, gameConfig, random.split()); 
 		this.ui = ui;
-		this.fortune = new Random();
+		this.fortune = random.split();
 		this.state = GameState.PREPARED;
 	}
 	
@@ -166,7 +211,7 @@ public class Game extends GameEntity{
 	        	this.city.plant(ui.plant(this.config.getBushelsPerAcre(), this.config.getAcrePerResident(), this.city.getState()));
 	            return;
 	        } catch (InsufficientResourcesException e) {
-	            String errorMessage = "Unable to plant crops: " + e.getMessage() + ". You need " + e.getRequired() + " bushels, but only have " + e.getAvailable() + " available.";;
+	            String errorMessage = "Unable to plant crops: " + e.getMessage() + ". You need " + e.getRequiredLong() + " bushels, but only have " + e.getAvailableLong() + " available.";;
 	            this.ui.illigleInput(errorMessage);
 	        } catch (LandOperationException e) {
 	            String errorMessage = "Unable to plant crops: " + e.getMessage();
@@ -184,7 +229,7 @@ public class Game extends GameEntity{
 	        	this.city.feed(ui.feed(this.config.getBushelsPerResident(), this.city.getState()));
 	            return;
 	        } catch (InsufficientResourcesException e) {
-	            String errorMessage = "Unable to feed residents: You need " + e.getRequired() + " bushels, but only have " + e.getAvailable() + " available.";
+	            String errorMessage = "Unable to feed residents: You need " + e.getRequiredLong() + " bushels, but only have " + e.getAvailableLong() + " available.";
 	            this.ui.illigleInput(errorMessage);
 	        }
 	    }
@@ -218,7 +263,7 @@ public class Game extends GameEntity{
 		            this.city.buy(pricePerAcre, ui.buy(pricePerAcre, this.city.getState()));
 		            return;
 		        } catch (InsufficientResourcesException e) {
-		            this.ui.illigleInput("You can't afford this. You need " + e.getRequired() + " bushels, but only have " + e.getAvailable() + " available.");
+		            this.ui.illigleInput("You can't afford this. You need " + e.getRequiredLong() + " bushels, but only have " + e.getAvailableLong() + " available.");
 		        }
 		    }
 	}
@@ -2,6 +2,7 @@ package de.htwsaar.esch.Codeopolis.DomainModel;
 
 import java.io.Serializable;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import de.htwsaar.esch.Codeopolis.DomainModel.Game.Difficulty;
 
@@ -25,6 +26,8 @@ public class GameConfig implements Serializable{
 	
 	public static final double DECAY_PERCENTAGE_PER_YEAR = 0.02;
 	public static final double DEPOT_EXPANSION_COST = 0.05;
+	// Share of the total capacity that has to be locked in silos of other grain types before a depot is defragmented
+	public static final double DEPOT_DEFRAGMENTATION_THRESHOLD = 0.1;
 
 
 	
@@ -34,15 +37,28 @@ public class GameConfig implements Serializable{
      * @param difficulty The difficulty level of the game.
      */
 	public GameConfig(Game.Difficulty difficulty) {
+		this(difficulty, new Random());
+	}
+
+	/**
+     * Constructs a new GameConfig object with the specified difficulty level.
+     * The initial bushels are distributed with the given random number generator, so the configuration can be reproduced.
+     * 
+     * @param difficulty The difficulty level of the game.
+     * @param random The random number generator used for the initial distribution of the bushels.
+     */
+	public GameConfig(Game.Difficulty difficulty, RandomGenerator random) {
 		this.difficulty = difficulty;
 		this.initialBushels = new int[Game.GrainType.values().length];
-		setup();
+		setup(random);
 	}
 	/**
 	 * Setup the game config according to the given difficulty.
+	 * 
+	 * @param random The random number generator used for the initial distribution of the bushels.
 	 */
-	private void setup() {
-		int[] grainDistribution = distributeBushelsRandomly(3000, Game.GrainType.values().length);
+	private void setup(RandomGenerator random) {
+		int[] grainDistribution = distributeBushelsRandomly(3000, Game.GrainType.values().length, random);
 		switch(this.difficulty) {
 		case EASY:
 			this.initialAcres = 1000;
@@ -111,15 +127,15 @@ public class GameConfig implements Serializable{
 	 *
 	 * @param x The total quantity of grain to distribute.
 	 * @param n The number of grain types.
+	 * @param random The random number generator.
 	 * @return An array representing the distribution of grain among types.
 	 */
-	private int[] distributeBushelsRandomly(int x, int n) {
+	private int[] distributeBushelsRandomly(int x, int n, RandomGenerator random) {
 	     if (x <= 0 || n <= 0) {
 	            throw new IllegalArgumentException();
 	        }
 
 	        int[] result = new int[n];
-	        Random random = new Random();
 
 	        // Calculate the mean value for the distribution
 	        int mean = x / n;
@@ -131,10 +147,12 @@ public class GameConfig implements Serializable{
 	            // Generate a random value between mean/2 and 1.5 * mean
 	            int randomValue = random.nextInt(mean) + mean / 2;
 	            
-	            // Ensure that the remaining value doesn't go negative
-	            if (sum + randomValue > x) {
-	                randomValue = x - sum;
-	            }
+	            // Ensure that every remaining part, including the last one, still ends up between mean/2 and 1.5 * mean,
+	            // so no grain type starts empty or with more than its share
+	            int remainingParts = n - 1 - i;
+	            int maxValue = x - sum - remainingParts * (mean / 2);
+	            int minValue = x - sum - remainingParts * (mean + mean / 2);
+	            randomValue = Math.max(minValue, Math.min(maxValue, randomValue));
 
 	            result[i] = randomValue;
 	            sum += randomValue;
@@ -144,7 +162,7 @@ public class GameConfig implements Serializable{
 	        result[n - 1] = x - sum;
 
 	        // Optional: Shuffle the array to get a random distribution
-	        shuffleArray(result);
+	        shuffleArray(result, random);
 
 	        return result;
     }
@@ -153,9 +171,9 @@ public class GameConfig implements Serializable{
 	 * Shuffles the elements of an integer array to achieve a random distribution.
 	 *
 	 * @param array The array to shuffle.
+	 * @param random The random number generator.
 	 */
-	private void shuffleArray(int[] array) {
-        Random random = new Random();
+	private void shuffleArray(int[] array, RandomGenerator random) {
         for (int i = array.length - 1; i > 0; i--) {
             int index = random.nextInt(i + 1);
             int temp = array[index];
@@ -0,0 +1,109 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Harvest;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
+/**
+ * The DecayTable class holds the precomputed decay behaviour of one grain type.
+ * A harvest keeps its full amount during the shelf life of its grain type. After that it loses a percentage of its
+ * remaining amount every year, and this percentage grows with the years of decay. The percentages are computed
+ * once per grain type, so decaying a harvest is a single table lookup.
+ */
+public final class DecayTable {
+    // Years of decay that are tabulated, older harvests decay completely with every grain type
+    private static final int TABULATED_YEARS = 64;
+    private static final DecayTable[] TABLES = new DecayTable[Game.GrainType.values().length];
+
+    static {
+        TABLES[Game.GrainType.BARLEY.ordinal()] = linear(2, 0.02, 0.03);
+        TABLES[Game.GrainType.CORN.ordinal()] = linear(2, 0.02, 0.03);
+        TABLES[Game.GrainType.MILLET.ordinal()] = linear(4, 0.01, 0.02);
+        TABLES[Game.GrainType.RICE.ordinal()] = doubling(1, 0.02);
+        TABLES[Game.GrainType.RYE.ordinal()] = linear(4, 0.01, 0.02);
+        TABLES[Game.GrainType.WHEAT.ordinal()] = doubling(1, 0.02);
+    }
+
+    private final int shelfLife;
+    // percentages[n] is the share of the harvest that decays in the n-th year after the shelf life, capped at 1
+    private final double[] percentages;
+
+    private DecayTable(int shelfLife, double[] percentages) {
+        this.shelfLife = shelfLife;
+        this.percentages = percentages;
+    }
+
+    /**
+     * Creates a table whose decay percentage grows by a fixed step every year.
+     * The percentages are summed up in the same order as a year by year calculation, so the results are identical.
+     */
+    private static DecayTable linear(int shelfLife, double firstPercentage, double step) {
+        double[] percentages = new double[TABULATED_YEARS + 1];
+        double percentage = firstPercentage;
+        for (int years = 1; years <= TABULATED_YEARS; years++) {
+            percentages[years] = Math.min(percentage, 1.0);
+            percentage += step;
+        }
+        return new DecayTable(shelfLife, percentages);
+    }
+
+    /**
+     * Creates a table whose decay percentage doubles every year.
+     */
+    private static DecayTable doubling(int shelfLife, double firstPercentage) {
+        double[] percentages = new double[TABULATED_YEARS + 1];
+        double percentage = firstPercentage;
+        for (int years = 1; years <= TABULATED_YEARS; years++) {
+            percentages[years] = Math.min(percentage, 1.0);
+            percentage *= 2;
+        }
+        return new DecayTable(shelfLife, percentages);
+    }
+
+    /**
+     * Retrieves the decay table of a grain type.
+     *
+     * @param grainType The grain type.
+     * @return The decay table of the grain type.
+     */
+    public static DecayTable forGrainType(Game.GrainType grainType) {
+        return TABLES[grainType.ordinal()];
+    }
+
+    /**
+     * Gets the number of years after the harvest year in which a harvest does not decay.
+     *
+     * @return The shelf life in years.
+     */
+    public int getShelfLife() {
+        return shelfLife;
+    }
+
+    /**
+     * Gets the first year in which a harvest of the given year decays.
+     *
+     * @param harvestYear The year of the harvest.
+     * @return The first year with decay.
+     */
+    public int firstDecayYear(int harvestYear) {
+        return harvestYear + shelfLife + 1;
+    }
+
+    /**
+     * Calculates how much of a harvest decays in the current year.
+     * The result never exceeds the amount of the harvest.
+     *
+     * @param amount      The amount of grain in the harvest.
+     * @param harvestYear The year of the harvest.
+     * @param currentYear The current year.
+     * @return The amount of grain that decays.
+     */
+    public int decayedAmount(int amount, int harvestYear, int currentYear) {
+        int yearsOfDecay = currentYear - harvestYear - shelfLife;
+        if (yearsOfDecay <= 0) {
+            return 0;
+        }
+        if (yearsOfDecay > TABULATED_YEARS) {
+            return amount;
+        }
+        return (int) (amount * percentages[yearsOfDecay]);
+    }
+}
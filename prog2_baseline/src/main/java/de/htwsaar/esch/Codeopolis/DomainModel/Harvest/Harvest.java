@@ -123,10 +123,17 @@ public abstract class Harvest implements Serializable,Comparable<Harvest>{
     
     /**
      * Simulates the decay of grain in the harvest over time.
+     * The harvest keeps its amount during the shelf life of its grain type and loses a growing share afterwards,
+     * as described by the {@link DecayTable} of the grain type.
      *
+     * @param currentYear The current year for calculating decay.
      * @return The amount of grain that decayed in this cycle.
      */
-    public abstract int decay(int currentYear);
+    public int decay(int currentYear) {
+        int decayedAmount = DecayTable.forGrainType(getGrainType()).decayedAmount(this.bushels, this.year, currentYear);
+        this.bushels -= decayedAmount;
+        return decayedAmount;
+    }
     
     /**
      * Retrieves the type of grain stored in the silo.
@@ -169,6 +176,25 @@ public abstract class Harvest implements Serializable,Comparable<Harvest>{
         return newHarvest;
     }
     
+    /**
+     * Merges another harvest of the same grain type and year into this harvest.
+     * All grain of the other harvest is moved into this harvest, so the other harvest is empty afterwards.
+     *
+     * @param other The harvest to be merged into this harvest.
+     * @return This harvest.
+     * @throws IllegalArgumentException if the grain type or the year of the harvests differ.
+     */
+    public Harvest merge(Harvest other) {
+        if (other == this) {
+            return this;
+        }
+        if (other.getGrainType() != this.getGrainType() || other.getYear() != this.getYear()) {
+            throw new IllegalArgumentException("Only harvests of the same grain type and year can be merged");
+        }
+        this.bushels += other.remove(other.getAmount());
+        return this;
+    }
+
     /**
      * Creates and returns a deep copy of this Harvest object.
      * 
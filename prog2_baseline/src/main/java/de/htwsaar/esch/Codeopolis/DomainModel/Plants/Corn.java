@@ -1,63 +1,18 @@
 package de.htwsaar.esch.Codeopolis.DomainModel.Plants;
 
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
 /**
  * The `Corn` class represents a specific type of spring grain, corn.
- * It inherits properties and methods from the `SpringGrain` class and defines
- * its own response to drought, pest infestation, and disease outbreak.
+ * It inherits properties and methods from the `SpringGrain` class. Its responses to drought,
+ * pest infestation, and disease outbreak are the row CORN of the {@link GrainResponseTable}.
  */
-public class Corn extends SpringGrain{
+public class Corn extends SpringGrain {
 
 	/**
      * Constructs a new `Corn` object with predefined characteristics.
      */
 	public Corn() {
-		super(4f, 0.2f, 0.25f);
-	}
-
-	/**
-     * Overrides the `drought` method from the parent class `SpringGrain` to specify
-     * how corn responds to drought conditions by reducing its yield ratio.
-     */
-    @Override
-	public void drought() {
-		this.yieldRatio *= 0.7;
-	}
-
-    /**
-     * Overrides the `pestInfestation` method from the parent class `SpringGrain` to specify
-     * how corn responds to pest infestation, specifically Frit Fly, by reducing its yield ratio.
-     *
-     * @param pest       The type of pest infestation.
-     * @param conditions The environmental conditions affecting grain growth.
-     */
-    @Override
-	public void pestInfestation(Pests pest, Conditions conditions) {
-		switch(pest) {
-			case FritFly:
-				this.yieldRatio *= 0.6f;
-				break;
-			default:
-				break;
-		}
-	}
-
-    /**
-     * Overrides the `diseaseOutbreak` method from the parent class `SpringGrain` to specify
-     * how corn responds to disease outbreaks, specifically Powdery Mildew, by reducing its yield ratio.
-     *
-     * @param disease    The type of disease outbreak.
-     * @param conditions The environmental conditions affecting grain growth.
-     */
-    @Override
-	public void diseaseOutbreak(Diseases disease, Conditions conditions) {
-		switch (disease) {
-			case PowderyMildew:
-				this.yieldRatio *= 0.75f;
-				break;
-			default:
-				break;
-		}
+		super(Game.GrainType.CORN);
 	}
-
- 
 }
@@ -1,9 +1,15 @@
 package de.htwsaar.esch.Codeopolis.DomainModel.Plants;
 import java.util.Random;
+import java.util.random.RandomGenerator;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
 
 /**
  * The `Grain` class represents an abstract grain plant with common attributes and behaviors.
  * Subclasses of `Grain` define specific types of grain plants.
+ * How a grain grows and responds to droughts, pests and diseases is looked up in the row of its grain type
+ * in the {@link GrainResponseTable}. A grain constructed without a grain type grows by its basic yield ratio only
+ * and does not respond to any event unless its subclass overrides the responses.
  */
 public abstract class 	Grain {
 	
@@ -11,6 +17,8 @@ public abstract class 	Grain {
 	
 	public enum Diseases{PowderyMildew, LeafDrought, Fusarium}
 	
+	private Game.GrainType grainType; // The grain type, selects the responses of the grain, null if the subclass defines them.
+	
 	private float basicYieldRatio; // The basic yield ratio of the grain.
 	
 	private boolean harvested = false; // Indicates if the grain has been harvested.
@@ -56,6 +64,18 @@ public abstract class 	Grain {
      * @param cropFailureDueToBadConditions The crop failure due to bad conditions.
      */
 	public Grain(float basicYieldRatio, float cropFailureDueToBadConditions) {
+		this(null, basicYieldRatio, cropFailureDueToBadConditions);
+	}
+
+    /**
+     * Constructs a `Grain` object of a grain type with the specified basic yield ratio and crop failure due to bad conditions.
+     *
+     * @param grainType                  The grain type, selects the responses of the grain.
+     * @param basicYieldRatio             The basic yield ratio of the grain.
+     * @param cropFailureDueToBadConditions The crop failure due to bad conditions.
+     */
+	public Grain(Game.GrainType grainType, float basicYieldRatio, float cropFailureDueToBadConditions) {
+		this.grainType = grainType;
 		this.basicYieldRatio = basicYieldRatio;
 		this.cropFailureDueToBadConditions = cropFailureDueToBadConditions;
 		this.acresPlanted = 0;
@@ -83,13 +103,19 @@ public abstract class 	Grain {
      * @param conditions The environmental conditions affecting the grain's growth.
      */
 	public void grow(Conditions conditions) {
-		this.yieldRatio = conditions.getSoilConditions() * basicYieldRatio;
+		if(grainType == null)
+			this.yieldRatio = conditions.getSoilConditions() * basicYieldRatio;
+		else
+			this.yieldRatio = GrainResponseTable.STANDARD.grow(grainType, basicYieldRatio, conditions);
 	}
 	
     /**
      * Handles drought conditions for the grain.
      */
-	public abstract void drought();
+	public void drought() {
+		if(grainType != null)
+			this.yieldRatio = GrainResponseTable.STANDARD.respond(grainType, GrainResponseTable.Event.DROUGHT, yieldRatio, null);
+	}
 	
     /**
      * Handles pest infestation conditions for the grain.
@@ -97,7 +123,10 @@ public abstract class 	Grain {
      * @param pest       The type of pest infestation.
      * @param conditions The environmental conditions affecting the pest infestation.
      */
-	public abstract void pestInfestation(Pests pest, Conditions conditions);
+	public void pestInfestation(Pests pest, Conditions conditions) {
+		if(grainType != null)
+			this.yieldRatio = GrainResponseTable.STANDARD.respond(grainType, GrainResponseTable.Event.of(pest), yieldRatio, conditions);
+	}
 	
     /**
      * Handles disease outbreaks for the grain.
@@ -105,7 +134,19 @@ public abstract class 	Grain {
      * @param disease    The type of disease outbreak.
      * @param conditions The environmental conditions affecting the disease outbreak.
      */
-	public abstract void diseaseOutbreak(Diseases disease, Conditions conditions);
+	public void diseaseOutbreak(Diseases disease, Conditions conditions) {
+		if(grainType != null)
+			this.yieldRatio = GrainResponseTable.STANDARD.respond(grainType, GrainResponseTable.Event.of(disease), yieldRatio, conditions);
+	}
+
+    /**
+     * Gets the grain type of the grain.
+     *
+     * @return The grain type, or null if the grain was constructed without one.
+     */
+	public Game.GrainType getGrainType() {
+		return grainType;
+	}
 	
     /**
      * Harvests the grain, returning the crop yield.
@@ -213,7 +254,16 @@ public abstract class 	Grain {
 		 * @return A new Conditions object with random values.
 		 */
 		public static Conditions generateRandomConditions() {
-			Random random = new Random();
+			return generateRandomConditions(new Random());
+		}
+
+		/**
+		 * Factory method to create a new Conditions object with values for all fields drawn from the given random number generator.
+		 *
+		 * @param random The random number generator, e.g. the one of the city.
+		 * @return A new Conditions object with random values.
+		 */
+		public static Conditions generateRandomConditions(RandomGenerator random) {
 			float soilConditions = random.nextFloat(); // generates a random float value between 0.0 (inclusive) and 1.0 (exclusive)
 			float averageTemperatureSummer = random.nextFloat() * 30.0f; // generates a random float value between 0.0 (inclusive) and 30.0 (exclusive)
 			float averageTemperatureWinter = random.nextFloat() * 20.0f - 10.0f; // generates a random float value between -10.0 (inclusive) and 10.0 (exclusive)
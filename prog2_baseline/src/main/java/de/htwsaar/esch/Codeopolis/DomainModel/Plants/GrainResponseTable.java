@@ -0,0 +1,368 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Plants;
+
+import java.util.Arrays;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
+/**
+ * The `GrainResponseTable` holds how every grain type grows and responds to the events of a year as plain numbers:
+ * the basic yield ratio, the crop failure in bad temperatures and one multiplier per grain type, event and band.
+ * The band of a response is 1 if the conditions of the year stress the grain, e.g. a hot summer, and 0 otherwise.
+ * Responses that do not depend on the conditions have the same multiplier in both bands, events a grain type is not
+ * vulnerable to have the multiplier 1.
+ *
+ * The grain classes are facades over {@link #STANDARD}. The yield of all planted grains is calculated by
+ * {@link #grow(Grain[], Grain.Conditions)} in one loop without calling any method of these grain classes.
+ * The multipliers are stored as double values of the original float and double factors, so the yield ratios
+ * are exactly the same as if the factors were applied to the float yield ratio one after another.
+ */
+public final class GrainResponseTable {
+
+	/**
+	 * The events of a year that affect the yield, in the order they are applied.
+	 */
+	public enum Event {
+		DROUGHT, FUSARIUM, LEAF_DROUGHT, POWDERY_MILDEW, BARLEY_GOUT_FLY, DELIA_FLY, FRIT_FLY;
+
+		static Event of(Grain.Pests pest) {
+			switch (pest) {
+				case BarleyGoutFly:
+					return BARLEY_GOUT_FLY;
+				case DeliaFly:
+					return DELIA_FLY;
+				default:
+					return FRIT_FLY;
+			}
+		}
+
+		static Event of(Grain.Diseases disease) {
+			switch (disease) {
+				case Fusarium:
+					return FUSARIUM;
+				case LeafDrought:
+					return LEAF_DROUGHT;
+				default:
+					return POWDERY_MILDEW;
+			}
+		}
+
+		/**
+		 * Lets a grain respond to this event by calling its own method, which a subclass may override.
+		 */
+		void applyTo(Grain grain, Grain.Conditions conditions) {
+			switch (this) {
+				case DROUGHT:
+					grain.drought();
+					break;
+				case FUSARIUM:
+					grain.diseaseOutbreak(Grain.Diseases.Fusarium, conditions);
+					break;
+				case LEAF_DROUGHT:
+					grain.diseaseOutbreak(Grain.Diseases.LeafDrought, conditions);
+					break;
+				case POWDERY_MILDEW:
+					grain.diseaseOutbreak(Grain.Diseases.PowderyMildew, conditions);
+					break;
+				case BARLEY_GOUT_FLY:
+					grain.pestInfestation(Grain.Pests.BarleyGoutFly, conditions);
+					break;
+				case DELIA_FLY:
+					grain.pestInfestation(Grain.Pests.DeliaFly, conditions);
+					break;
+				default:
+					grain.pestInfestation(Grain.Pests.FritFly, conditions);
+			}
+		}
+
+		boolean occurs(Grain.Conditions conditions) {
+			switch (this) {
+				case DROUGHT:
+					return conditions.isDrought();
+				case FUSARIUM:
+					return conditions.isFusarium();
+				case LEAF_DROUGHT:
+					return conditions.isLeafDrought();
+				case POWDERY_MILDEW:
+					return conditions.isPowderyMildew();
+				case BARLEY_GOUT_FLY:
+					return conditions.isBarleyGoOutFly();
+				case DELIA_FLY:
+					return conditions.isDeliaFly();
+				default:
+					return conditions.isFritFly();
+			}
+		}
+	}
+
+	static final float OPTIMAL_SUMMER_TEMPERATURE = 18f;
+	static final float OPTIMAL_WINTER_TEMPERATURE = 3.3f;
+
+	// What puts a grain into band 1: the soil, the summer or the winter being below or above a threshold
+	private static final byte NO_BAND = 0;
+	private static final byte SOIL_BELOW = 1;
+	private static final byte SUMMER_ABOVE = 2;
+	private static final byte WINTER_ABOVE = 3;
+	private static final byte WINTER_BELOW = 4;
+
+	private static final Event[] EVENTS = Event.values();
+	private static final int GRAIN_TYPES = Game.GrainType.values().length;
+	private static final int BANDS = 2;
+
+	/**
+	 * The responses of the grain types planted by the cities.
+	 */
+	public static final GrainResponseTable STANDARD = createStandardTable();
+
+	// Indexed by the ordinal of the grain type
+	private final float[] basicYieldRatios = new float[GRAIN_TYPES];
+	private final float[] cropFailures = new float[GRAIN_TYPES];
+	private final float[] resistances = new float[GRAIN_TYPES];
+	private final byte[] growthBands = new byte[GRAIN_TYPES];
+	private final double[] growthThresholds = new double[GRAIN_TYPES];
+	// Indexed by grain type * number of events + event
+	private final byte[] responseBands = new byte[GRAIN_TYPES * EVENTS.length];
+	private final double[] responseThresholds = new double[GRAIN_TYPES * EVENTS.length];
+	// Indexed by (grain type * number of events + event) * number of bands + band
+	private final double[] multipliers = new double[GRAIN_TYPES * EVENTS.length * BANDS];
+
+	private GrainResponseTable() {
+		Arrays.fill(this.multipliers, 1.0);
+	}
+
+	/**
+	 * Compiles the responses of barley, corn, millet, rice, rye and wheat.
+	 * Float factors are widened with a cast, so they keep their float value.
+	 */
+	private static GrainResponseTable createStandardTable() {
+		GrainResponseTable table = new GrainResponseTable();
+		Game.GrainType type;
+
+		type = Game.GrainType.BARLEY;
+		table.winterGrain(type, 4, 0.2f, 0.25f);
+		table.response(type, Event.DROUGHT, 0.8);
+		table.response(type, Event.BARLEY_GOUT_FLY, 0.6);
+		table.response(type, Event.FUSARIUM, (double) 0.75f);
+
+		type = Game.GrainType.CORN;
+		table.springGrain(type, 4f, 0.2f, 0.25f);
+		table.response(type, Event.DROUGHT, 0.7);
+		table.response(type, Event.FRIT_FLY, (double) 0.6f);
+		table.response(type, Event.POWDERY_MILDEW, (double) 0.75f);
+
+		type = Game.GrainType.MILLET;
+		table.springGrain(type, 2f, 0.1f, 0.45f);
+		table.response(type, Event.DROUGHT, (double) 0.95f);
+		table.response(type, Event.BARLEY_GOUT_FLY, SOIL_BELOW, 0.8, (double) 0.9f, (double) 0.85f);
+
+		type = Game.GrainType.RICE;
+		table.springGrain(type, 6, 0.4f, 0.1f);
+		table.response(type, Event.DROUGHT, 0.5);
+		table.response(type, Event.BARLEY_GOUT_FLY, (double) 0.7f);
+		table.response(type, Event.DELIA_FLY, SUMMER_ABOVE, OPTIMAL_SUMMER_TEMPERATURE * (1 + 0.1f), (double) 0.7f, (double) 0.6f);
+		table.response(type, Event.FUSARIUM, (double) 0.75f);
+		table.response(type, Event.LEAF_DROUGHT, (double) 0.7f);
+
+		type = Game.GrainType.RYE;
+		table.winterGrain(type, 2, 0.1f, 0.45f);
+		table.response(type, Event.DROUGHT, 0.95);
+		table.response(type, Event.POWDERY_MILDEW, WINTER_ABOVE, OPTIMAL_WINTER_TEMPERATURE + 3f, (double) 0.9f, (double) 0.85f);
+
+		type = Game.GrainType.WHEAT;
+		table.winterGrain(type, 6f, 0.4f, 0.1f);
+		table.response(type, Event.DROUGHT, 0.5);
+		table.response(type, Event.FRIT_FLY, (double) 0.75f);
+		table.response(type, Event.BARLEY_GOUT_FLY, (double) 0.7f);
+		table.response(type, Event.POWDERY_MILDEW, (double) 0.7f);
+		table.response(type, Event.LEAF_DROUGHT, WINTER_ABOVE, OPTIMAL_WINTER_TEMPERATURE + 2f, 0.7, (double) 0.6f);
+		return table;
+	}
+
+	/**
+	 * Adds a spring grain, which fails in summers hotter than the optimal summer temperature raised by its heat resistance.
+	 */
+	private void springGrain(Game.GrainType type, float basicYieldRatio, float cropFailure, float heatResistance) {
+		grain(type, basicYieldRatio, cropFailure, heatResistance, SUMMER_ABOVE, OPTIMAL_SUMMER_TEMPERATURE * (1 + heatResistance));
+	}
+
+	/**
+	 * Adds a winter grain, which fails in winters colder than the optimal winter temperature lowered by its cold resistance.
+	 */
+	private void winterGrain(Game.GrainType type, float basicYieldRatio, float cropFailure, float coldResistance) {
+		grain(type, basicYieldRatio, cropFailure, coldResistance, WINTER_BELOW, OPTIMAL_WINTER_TEMPERATURE * (1 - coldResistance));
+	}
+
+	private void grain(Game.GrainType type, float basicYieldRatio, float cropFailure, float resistance, byte growthBand, float growthThreshold) {
+		int t = type.ordinal();
+		this.basicYieldRatios[t] = basicYieldRatio;
+		this.cropFailures[t] = cropFailure;
+		this.resistances[t] = resistance;
+		this.growthBands[t] = growthBand;
+		this.growthThresholds[t] = growthThreshold;
+	}
+
+	private void response(Game.GrainType type, Event event, double multiplier) {
+		response(type, event, NO_BAND, 0, multiplier, multiplier);
+	}
+
+	private void response(Game.GrainType type, Event event, byte band, double threshold, double normal, double stressed) {
+		int cell = type.ordinal() * EVENTS.length + event.ordinal();
+		this.responseBands[cell] = band;
+		this.responseThresholds[cell] = threshold;
+		this.multipliers[cell * BANDS] = normal;
+		this.multipliers[cell * BANDS + 1] = stressed;
+	}
+
+	/**
+	 * @param type The grain type.
+	 * @return The basic yield ratio of the grain type.
+	 */
+	public float getBasicYieldRatio(Game.GrainType type) {
+		return this.basicYieldRatios[type.ordinal()];
+	}
+
+	/**
+	 * @param type The grain type.
+	 * @return The share of the crop the grain type loses in bad temperatures.
+	 */
+	public float getCropFailure(Game.GrainType type) {
+		return this.cropFailures[type.ordinal()];
+	}
+
+	/**
+	 * @param type The grain type.
+	 * @return The heat resistance of a spring grain or the cold resistance of a winter grain.
+	 */
+	public float getResistance(Game.GrainType type) {
+		return this.resistances[type.ordinal()];
+	}
+
+	/**
+	 * @param type The grain type.
+	 * @param event The event.
+	 * @param band The band, 1 if the conditions stress the grain, 0 otherwise.
+	 * @return The factor the yield ratio of the grain type is multiplied with when the event occurs.
+	 */
+	public double getMultiplier(Game.GrainType type, Event event, int band) {
+		return this.multipliers[(type.ordinal() * EVENTS.length + event.ordinal()) * BANDS + band];
+	}
+
+	private static boolean stressed(byte band, double threshold, Grain.Conditions conditions) {
+		switch (band) {
+			case SOIL_BELOW:
+				return conditions.getSoilConditions() < threshold;
+			case SUMMER_ABOVE:
+				return conditions.getAverageTemperatureSummer() > threshold;
+			case WINTER_ABOVE:
+				return conditions.getAverageTemperatureWinter() > threshold;
+			case WINTER_BELOW:
+				return conditions.getAverageTemperatureWinter() < threshold;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Calculates the yield ratio of a grain after growing in the given conditions, before any event.
+	 *
+	 * @param t The ordinal of the grain type.
+	 * @param basicYieldRatio The basic yield ratio of the grain.
+	 * @param conditions The conditions of the year.
+	 * @return The yield ratio.
+	 */
+	private float grow(int t, float basicYieldRatio, Grain.Conditions conditions) {
+		float yieldRatio = conditions.getSoilConditions() * basicYieldRatio;
+		if (stressed(this.growthBands[t], this.growthThresholds[t], conditions))
+			yieldRatio *= (1 - this.cropFailures[t]);
+		return yieldRatio;
+	}
+
+	/**
+	 * Applies the response to an event to a yield ratio.
+	 *
+	 * @param t The ordinal of the grain type.
+	 * @param e The ordinal of the event.
+	 * @param yieldRatio The yield ratio before the event.
+	 * @param conditions The conditions of the year, only read if the response depends on them.
+	 * @return The yield ratio after the event.
+	 */
+	private float respond(int t, int e, float yieldRatio, Grain.Conditions conditions) {
+		int cell = t * EVENTS.length + e;
+		int band = stressed(this.responseBands[cell], this.responseThresholds[cell], conditions) ? 1 : 0;
+		return (float) (yieldRatio * this.multipliers[cell * BANDS + band]);
+	}
+
+	float grow(Game.GrainType type, float basicYieldRatio, Grain.Conditions conditions) {
+		return grow(type.ordinal(), basicYieldRatio, conditions);
+	}
+
+	float respond(Game.GrainType type, Event event, float yieldRatio, Grain.Conditions conditions) {
+		return respond(type.ordinal(), event.ordinal(), yieldRatio, conditions);
+	}
+
+	/**
+	 * Calculates the yield ratio of a grain type after growing in the given conditions and all events of the year.
+	 *
+	 * @param type The grain type.
+	 * @param basicYieldRatio The basic yield ratio of the grain.
+	 * @param conditions The conditions of the year.
+	 * @return The yield ratio.
+	 */
+	public float yieldRatio(Game.GrainType type, float basicYieldRatio, Grain.Conditions conditions) {
+		int events = eventMask(conditions);
+		float yieldRatio = grow(type.ordinal(), basicYieldRatio, conditions);
+		for (int e = 0; e < EVENTS.length; e++) {
+			if ((events & (1 << e)) != 0)
+				yieldRatio = respond(type.ordinal(), e, yieldRatio, conditions);
+		}
+		return yieldRatio;
+	}
+
+	/**
+	 * Lets all planted grains grow in the given conditions and respond to the events of the year, ready to be harvested.
+	 * The grain classes of this package respond as the row of their grain type, only their basic yield ratio is taken
+	 * from the grain. Any other grain, e.g. a subclass that overrides how it responds, is grown by calling its own methods.
+	 *
+	 * @param planted The planted grains, null where nothing was planted.
+	 * @param conditions The conditions of the year.
+	 */
+	public void grow(Grain[] planted, Grain.Conditions conditions) {
+		int events = eventMask(conditions);
+		for (Grain grain : planted) {
+			if (grain == null)
+				continue;
+			if (!respondsAsRow(grain)) {
+				grain.grow(conditions);
+				for (Event event : EVENTS) {
+					if ((events & (1 << event.ordinal())) != 0)
+						event.applyTo(grain, conditions);
+				}
+				continue;
+			}
+			int t = grain.getGrainType().ordinal();
+			float yieldRatio = grow(t, grain.getBasicYieldRatio(), conditions);
+			for (int e = 0; e < EVENTS.length; e++) {
+				if ((events & (1 << e)) != 0)
+					yieldRatio = respond(t, e, yieldRatio, conditions);
+			}
+			grain.yieldRatio = yieldRatio;
+		}
+	}
+
+	/**
+	 * Checks whether a grain is one of the grain classes of this package, which respond exactly as the row of their grain type.
+	 */
+	private static boolean respondsAsRow(Grain grain) {
+		Class<?> grainClass = grain.getClass();
+		return grainClass == Wheat.class || grainClass == Rye.class || grainClass == Barley.class
+				|| grainClass == Corn.class || grainClass == Millet.class || grainClass == Rice.class;
+	}
+
+	private static int eventMask(Grain.Conditions conditions) {
+		int events = 0;
+		for (Event event : EVENTS) {
+			if (event.occurs(conditions))
+				events |= 1 << event.ordinal();
+		}
+		return events;
+	}
+}
@@ -1,40 +1,56 @@
 package de.htwsaar.esch.Codeopolis.DomainModel.Plants;
 
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
 /**
  * The abstract class `SpringGrain` represents a type of grain that is typically grown in spring.
- * It inherits properties and methods from the `Grain` class and adds specific behavior related to
- * its growth based on environmental conditions.
+ * It inherits properties and methods from the `Grain` class. Spring grains lose part of their crop
+ * in summers that are hotter than the optimal summer temperature raised by their heat resistance.
  */
 public abstract class SpringGrain extends Grain{
 
 	// The optimal summer temperature for spring grains.
-	private final float OPTIMAL_SUMMER_TEMPERATURE = 18f;
+	private final float OPTIMAL_SUMMER_TEMPERATURE = GrainResponseTable.OPTIMAL_SUMMER_TEMPERATURE;
 	
 	// The heat resistance factor of the spring grain.
 	private float heatResistance;
 	
     /**
-     * Constructs a new `SpringGrain` object with the specified parameters.
+     * Constructs a new `SpringGrain` object with the characteristics of its grain type in the {@link GrainResponseTable}.
+     *
+     * @param grainType The grain type.
+     */
+	public SpringGrain(Game.GrainType grainType) {
+		this(grainType, GrainResponseTable.STANDARD.getBasicYieldRatio(grainType), GrainResponseTable.STANDARD.getCropFailure(grainType),
+				GrainResponseTable.STANDARD.getResistance(grainType));
+	}
+
+    /**
+     * Constructs a new `SpringGrain` object with the specified parameters and without a grain type.
      *
      * @param basicYieldRatio            The basic yield ratio of the grain.
      * @param cropFailureDueToBadConditions The crop failure due to bad conditions.
      * @param heatResistance             The heat resistance factor of the grain.
      */
 	public SpringGrain(float basicYieldRatio, float cropFailureDueToBadConditions, float heatResistance) {
-		super(basicYieldRatio, cropFailureDueToBadConditions);
+		this(null, basicYieldRatio, cropFailureDueToBadConditions, heatResistance);
+	}
+
+	private SpringGrain(Game.GrainType grainType, float basicYieldRatio, float cropFailureDueToBadConditions, float heatResistance) {
+		super(grainType, basicYieldRatio, cropFailureDueToBadConditions);
 		this.heatResistance = heatResistance;
 	}
-	
+
     /**
      * Overrides the `grow` method from the parent class `Grain` to incorporate the effects of
-     * heat resistance on spring grain growth.
+     * heat resistance on a spring grain without a grain type. The row of a grain type already includes them.
      *
      * @param conditions The environmental conditions affecting grain growth.
      */
     @Override
 	public void grow(Conditions conditions) {
 		super.grow(conditions);
-		if(conditions.getAverageTemperatureSummer() > OPTIMAL_SUMMER_TEMPERATURE * (1+heatResistance))
+		if(getGrainType() == null && conditions.getAverageTemperatureSummer() > OPTIMAL_SUMMER_TEMPERATURE * (1+heatResistance))
 			this.yieldRatio *= (1 - this.getCropFailureDueToBadConditions());
 	}
 
@@ -1,42 +1,66 @@
 package de.htwsaar.esch.Codeopolis.DomainModel.Plants;
 
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
 /**
  * The abstract class `WinterGrain` represents a type of grain that is typically grown in winter.
- * It inherits properties and methods from the `Grain` class and adds specific behavior related to
- * its growth based on environmental conditions during winter.
+ * It inherits properties and methods from the `Grain` class. Winter grains lose part of their crop
+ * in winters that are colder than the optimal winter temperature lowered by their cold resistance.
  */
 public abstract class WinterGrain extends Grain {
 
 	// The optimal winter temperature for winter grains.
-	private final float OPTIMAL_WINTER_TEMPERATURE = 3.3f;
+	private final float OPTIMAL_WINTER_TEMPERATURE = GrainResponseTable.OPTIMAL_WINTER_TEMPERATURE;
 	
 	// The cold resistance factor of the winter grain.
 	private float coldResistence;
 	
     /**
-     * Constructs a new `WinterGrain` object with the specified parameters.
+     * Constructs a new `WinterGrain` object with the characteristics of its grain type in the {@link GrainResponseTable}.
+     *
+     * @param grainType The grain type.
+     */
+	public WinterGrain(Game.GrainType grainType) {
+		this(grainType, GrainResponseTable.STANDARD.getBasicYieldRatio(grainType));
+	}
+
+    /**
+     * Constructs a new `WinterGrain` object of a variety with a different basic yield ratio than its grain type.
+     *
+     * @param grainType       The grain type.
+     * @param basicYieldRatio The basic yield ratio of the variety.
+     */
+	public WinterGrain(Game.GrainType grainType, float basicYieldRatio) {
+		this(grainType, basicYieldRatio, GrainResponseTable.STANDARD.getCropFailure(grainType), GrainResponseTable.STANDARD.getResistance(grainType));
+	}
+
+    /**
+     * Constructs a new `WinterGrain` object with the specified parameters and without a grain type.
      *
      * @param basicYieldRatio            The basic yield ratio of the grain.
      * @param cropFailureDueToBadConditions The crop failure due to bad conditions.
-     * @param coldResistance             The cold resistance factor of the grain.
+     * @param coldResistence             The cold resistance factor of the grain.
      */
 	public WinterGrain(float basicYieldRatio, float cropFailureDueToBadConditions, float coldResistence) {
-		super(basicYieldRatio, cropFailureDueToBadConditions);
+		this(null, basicYieldRatio, cropFailureDueToBadConditions, coldResistence);
+	}
+
+	private WinterGrain(Game.GrainType grainType, float basicYieldRatio, float cropFailureDueToBadConditions, float coldResistence) {
+		super(grainType, basicYieldRatio, cropFailureDueToBadConditions);
 		this.coldResistence = coldResistence;
 	}
-	
+
     /**
      * Overrides the `grow` method from the parent class `Grain` to incorporate the effects of
-     * cold resistance on winter grain growth.
+     * cold resistance on a winter grain without a grain type. The row of a grain type already includes them.
      *
      * @param conditions The environmental conditions affecting grain growth.
      */
     @Override
 	public void grow(Conditions conditions) {
 		super.grow(conditions);
-		if(conditions.getAverageTemperatureWinter() < OPTIMAL_WINTER_TEMPERATURE * (1-coldResistence))
+		if(getGrainType() == null && conditions.getAverageTemperatureWinter() < OPTIMAL_WINTER_TEMPERATURE * (1-coldResistence))
 			this.yieldRatio *= (1 - this.getCropFailureDueToBadConditions());
-
 	}
 
     /**
@@ -0,0 +1,57 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Simulation;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.CityView;
+
+/**
+ * The DecisionPolicy interface represents the decisions a player makes in every turn, without any user interaction.
+ * It mirrors the decision methods of the {@link de.htwsaar.esch.Codeopolis.DomainModel.UserInterface},
+ * so a strategy can be played by the {@link Simulator} for many years in a row.
+ * Every decision is based on a {@link CityView} that reflects the decisions made before in the same turn.
+ */
+public interface DecisionPolicy {
+
+	/**
+	 * Decides how many silos are added to the depot.
+	 *
+	 * @param city The current figures of the city.
+	 * @return The number of silos to be added.
+	 */
+	int expandDepot(CityView city);
+
+	/**
+	 * Decides how many acres of land are bought.
+	 *
+	 * @param pricePerAcre The price per acre of land.
+	 * @param city The current figures of the city.
+	 * @return The number of acres to be bought.
+	 */
+	int buy(int pricePerAcre, CityView city);
+
+	/**
+	 * Decides how many acres of land are sold.
+	 *
+	 * @param pricePerAcre The price per acre of land.
+	 * @param city The current figures of the city.
+	 * @return The number of acres to be sold.
+	 */
+	int sell(int pricePerAcre, CityView city);
+
+	/**
+	 * Decides how many bushels are fed to the residents.
+	 *
+	 * @param bushelsPerResident The amount of bushels required per resident.
+	 * @param city The current figures of the city.
+	 * @return The number of bushels to be fed.
+	 */
+	int feed(int bushelsPerResident, CityView city);
+
+	/**
+	 * Decides how many acres are planted with each grain type.
+	 *
+	 * @param bushelsPerAcre The amount of bushels required per acre of land.
+	 * @param acrePerResident The number of acres a resident can farm.
+	 * @param city The current figures of the city.
+	 * @return The number of acres to be planted, indexed by the ordinal of the grain type.
+	 */
+	int[] plant(int bushelsPerAcre, int acrePerResident, CityView city);
+}
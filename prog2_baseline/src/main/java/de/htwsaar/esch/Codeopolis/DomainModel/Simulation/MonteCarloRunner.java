@@ -0,0 +1,108 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.City;
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.GameConfig;
+
+/**
+ * Runs the same strategy for many independent cities of one difficulty and collects {@link MonteCarloStatistics} over them.
+ * The simulations are split into tasks of a {@link ForkJoinPool}. Every task simulates its cities on its own and the
+ * statistics of the tasks are merged when they are joined, so no state is shared between the threads.
+ * All randomness comes from a tree of {@link SplittableRandom}s rooted at the seed of the run: every task splits a generator off
+ * its own for the first half of its simulations and every simulation splits one off for its configuration, its city and its prices.
+ * The tree only depends on the number of simulations, so a run is reproducible from its seed on any number of threads.
+ */
+public class MonteCarloRunner {
+	// Simulations a task runs itself instead of splitting them further
+	private static final int SIMULATIONS_PER_TASK = 8;
+
+	private final Game.Difficulty difficulty;
+	private final Supplier<? extends DecisionPolicy> policies;
+	private final int years;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Constructs a runner that plays the number of years of the game configuration on the common pool.
+	 *
+	 * @param difficulty The difficulty of the simulated games.
+	 * @param policies Creates the policy for each simulation, policies are never shared between simulations.
+	 */
+	public MonteCarloRunner(Game.Difficulty difficulty, Supplier<? extends DecisionPolicy> policies) {
+		this(difficulty, policies, new GameConfig(difficulty).getNumberOfYears(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a runner.
+	 *
+	 * @param difficulty The difficulty of the simulated games.
+	 * @param policies Creates the policy for each simulation, policies are never shared between simulations.
+	 * @param years The maximum number of years simulated per city.
+	 * @param pool The pool the simulations are run on.
+	 */
+	public MonteCarloRunner(Game.Difficulty difficulty, Supplier<? extends DecisionPolicy> policies, int years, ForkJoinPool pool) {
+		this.difficulty = difficulty;
+		this.policies = policies;
+		this.years = years;
+		this.pool = pool;
+	}
+
+	/**
+	 * Simulates the given number of cities.
+	 *
+	 * @param simulations The number of cities to be simulated.
+	 * @param seed The seed the seeds of the simulations are derived from.
+	 * @return The statistics over all simulated cities.
+	 */
+	public MonteCarloStatistics run(int simulations, long seed) {
+		return this.pool.invoke(new SimulationTask(new SplittableRandom(seed), 0, simulations));
+	}
+
+	/**
+	 * Simulates a single city.
+	 *
+	 * @param simulation The number of the simulation.
+	 * @param random The generator of the simulation, owned by the simulation alone.
+	 * @return The summary of the simulation.
+	 */
+	private SimulationSummary simulate(int simulation, SplittableRandom random) {
+		GameConfig config = new GameConfig(this.difficulty, random.split());
+		City city = new City(Integer.toString(simulation), "Simulated City", config, random.split());
+		Simulator simulator = new Simulator(config, this.policies.get(), random.split());
+		return simulator.run(city, this.years);
+	}
+
+	/**
+	 * Simulates the cities with the numbers from {@code from} (inclusive) to {@code to} (exclusive).
+	 */
+	private class SimulationTask extends RecursiveTask<MonteCarloStatistics> {
+		private final SplittableRandom random;
+		private final int from;
+		private final int to;
+
+		SimulationTask(SplittableRandom random, int from, int to) {
+			this.random = random;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected MonteCarloStatistics compute() {
+			if (this.to - this.from <= SIMULATIONS_PER_TASK) {
+				MonteCarloStatistics statistics = new MonteCarloStatistics(years);
+				for (int simulation = this.from; simulation < this.to; simulation++)
+					statistics.add(simulate(simulation, this.random.split()));
+				return statistics;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			SimulationTask left = new SimulationTask(this.random.split(), this.from, middle);
+			left.fork();
+			MonteCarloStatistics right = new SimulationTask(this.random, middle, this.to).compute();
+			return left.join().merge(right);
+		}
+	}
+}
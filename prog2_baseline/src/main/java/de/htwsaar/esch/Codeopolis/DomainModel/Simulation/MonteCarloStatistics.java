@@ -0,0 +1,168 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Simulation;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
+/**
+ * Statistics over many simulated cities, collected per year by the {@link MonteCarloRunner}.
+ * Only sums and counts are kept, so two statistics over disjoint sets of simulations are combined by {@link #merge(MonteCarloStatistics)}
+ * in any order and grouping with the same result. Means and rates are derived when they are requested.
+ */
+public class MonteCarloStatistics {
+	private static final int GRAIN_TYPES = Game.GrainType.values().length;
+
+	private final int years;
+	private long simulations;
+	private final long[] outcomes = new long[SimulationSummary.Outcome.values().length];
+	private final long[] citiesPlaying; // Number of cities that played the year
+	private final long[] residents; // Sum of the residents after the year
+	private final long[] starvedPercentage; // Sum of the percentages of residents who starved in the year
+	private final long[] citiesStarving; // Number of cities in which residents starved in the year
+	private final long[] bushels; // Sum of the bushels after the year, indexed by year * number of grain types + ordinal
+
+	/**
+	 * Constructs empty statistics for the given number of years.
+	 *
+	 * @param years The number of years that are recorded.
+	 */
+	public MonteCarloStatistics(int years) {
+		this.years = years;
+		this.citiesPlaying = new long[years];
+		this.residents = new long[years];
+		this.starvedPercentage = new long[years];
+		this.citiesStarving = new long[years];
+		this.bushels = new long[years * GRAIN_TYPES];
+	}
+
+	/**
+	 * Adds a simulated city to the statistics. Turns beyond the recorded years are ignored.
+	 *
+	 * @param summary The summary of the simulation.
+	 * @return These statistics.
+	 */
+	public MonteCarloStatistics add(SimulationSummary summary) {
+		this.simulations++;
+		this.outcomes[summary.getOutcome().ordinal()]++;
+		int turns = Math.min(summary.getTurns(), this.years);
+		for (int year = 0; year < turns; year++) {
+			this.citiesPlaying[year]++;
+			this.residents[year] += summary.getResidents(year);
+			this.starvedPercentage[year] += summary.getStarvedPercentage(year);
+			if (summary.getStarved(year) > 0)
+				this.citiesStarving[year]++;
+			for (Game.GrainType grainType : Game.GrainType.values())
+				this.bushels[year * GRAIN_TYPES + grainType.ordinal()] += summary.getBushels(year, grainType);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the statistics of other simulations to these statistics.
+	 *
+	 * @param other The statistics to be added, recorded for the same number of years.
+	 * @return These statistics.
+	 */
+	public MonteCarloStatistics merge(MonteCarloStatistics other) {
+		if (other.years != this.years)
+			throw new IllegalArgumentException("Cannot merge statistics of " + other.years + " years into statistics of " + this.years + " years");
+		this.simulations += other.simulations;
+		addAll(this.outcomes, other.outcomes);
+		addAll(this.citiesPlaying, other.citiesPlaying);
+		addAll(this.residents, other.residents);
+		addAll(this.starvedPercentage, other.starvedPercentage);
+		addAll(this.citiesStarving, other.citiesStarving);
+		addAll(this.bushels, other.bushels);
+		return this;
+	}
+
+	private static void addAll(long[] target, long[] source) {
+		for (int i = 0; i < target.length; i++)
+			target[i] += source[i];
+	}
+
+	/**
+	 * @return The number of years that are recorded.
+	 */
+	public int getYears() {
+		return this.years;
+	}
+
+	/**
+	 * @return The number of simulated cities.
+	 */
+	public long getSimulations() {
+		return this.simulations;
+	}
+
+	/**
+	 * @param outcome The outcome of a simulation.
+	 * @return The number of simulations that ended with the outcome.
+	 */
+	public long getOutcomes(SimulationSummary.Outcome outcome) {
+		return this.outcomes[outcome.ordinal()];
+	}
+
+	/**
+	 * @return The share of simulations in which the city survived all years.
+	 */
+	public double getWinRate() {
+		return share(getOutcomes(SimulationSummary.Outcome.SURVIVED), this.simulations);
+	}
+
+	/**
+	 * @return The share of simulations that were lost because residents starved.
+	 */
+	public double getStarvationRisk() {
+		return share(getOutcomes(SimulationSummary.Outcome.EXTINCT) + getOutcomes(SimulationSummary.Outcome.TOO_MANY_STARVED), this.simulations);
+	}
+
+	/**
+	 * @param year The year, starting at 0.
+	 * @return The number of cities that played the year.
+	 */
+	public long getCitiesPlaying(int year) {
+		return this.citiesPlaying[year];
+	}
+
+	/**
+	 * @param year The year, starting at 0.
+	 * @return The mean number of residents after the year, over the cities that played it.
+	 */
+	public double getMeanResidents(int year) {
+		return share(this.residents[year], this.citiesPlaying[year]);
+	}
+
+	/**
+	 * @param year The year, starting at 0.
+	 * @return The mean percentage of residents who starved in the year, over the cities that played it.
+	 */
+	public double getMeanStarvedPercentage(int year) {
+		return share(this.starvedPercentage[year], this.citiesPlaying[year]);
+	}
+
+	/**
+	 * @param year The year, starting at 0.
+	 * @return The share of the cities that played the year in which residents starved.
+	 */
+	public double getStarvationRate(int year) {
+		return share(this.citiesStarving[year], this.citiesPlaying[year]);
+	}
+
+	/**
+	 * @param year The year, starting at 0.
+	 * @param grainType The grain type.
+	 * @return The mean number of bushels of the grain type after the year, over the cities that played it.
+	 */
+	public double getMeanBushels(int year, Game.GrainType grainType) {
+		return share(this.bushels[year * GRAIN_TYPES + grainType.ordinal()], this.citiesPlaying[year]);
+	}
+
+	private static double share(long part, long total) {
+		return (total > 0) ? (double) part / total : 0;
+	}
+
+	@Override
+	public String toString() {
+		return "MonteCarloStatistics [simulations=" + this.simulations + ", winRate=" + String.format("%.3f", getWinRate())
+				+ ", starvationRisk=" + String.format("%.3f", getStarvationRisk()) + "]";
+	}
+}
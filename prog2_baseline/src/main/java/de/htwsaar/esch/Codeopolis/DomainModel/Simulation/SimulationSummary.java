@@ -0,0 +1,229 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Simulation;
+
+import java.util.Arrays;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.TurnResult;
+
+/**
+ * The result of one city simulated by the {@link Simulator}.
+ * Instead of keeping every {@link TurnResult}, the figures of each turn are copied into primitive arrays indexed by the turn,
+ * so a simulation over many years keeps neither the depot reports nor any per-turn objects alive.
+ */
+public class SimulationSummary {
+	/**
+	 * The Outcome enum represents how the simulation of a city ended.
+	 */
+	public enum Outcome {
+		SURVIVED, // All requested years were played
+		EXTINCT, // All residents starved to death
+		TOO_MANY_STARVED // More than half of the residents starved in one year, the player is chased out of the city
+	}
+
+	private static final int GRAIN_TYPES = Game.GrainType.values().length;
+
+	private int turns;
+	private int[] residents;
+	private int[] newResidents;
+	private int[] starved;
+	private int[] starvedPercentage;
+	private int[] acres;
+	private long[] bushelsHarvested;
+	private int[] ateByRats;
+	private int[] bushelsDecayed;
+	private long[] bushels; // Bushels in the depot after each turn, indexed by turn * number of grain types + ordinal
+	private int rejectedDecisions;
+	private Outcome outcome = Outcome.SURVIVED;
+	private long elapsedNanos;
+
+	/**
+	 * Constructs an empty summary with room for the given number of turns.
+	 *
+	 * @param expectedTurns The number of turns that are expected to be recorded.
+	 */
+	SimulationSummary(int expectedTurns) {
+		int capacity = Math.max(expectedTurns, 1);
+		this.residents = new int[capacity];
+		this.newResidents = new int[capacity];
+		this.starved = new int[capacity];
+		this.starvedPercentage = new int[capacity];
+		this.acres = new int[capacity];
+		this.bushelsHarvested = new long[capacity];
+		this.ateByRats = new int[capacity];
+		this.bushelsDecayed = new int[capacity];
+		this.bushels = new long[capacity * GRAIN_TYPES];
+	}
+
+	/**
+	 * Copies the figures of a turn into the summary.
+	 *
+	 * @param result The result of the turn.
+	 */
+	void record(TurnResult result) {
+		if (this.turns == this.residents.length)
+			grow();
+		int turn = this.turns++;
+		this.residents[turn] = result.getResidents();
+		this.newResidents[turn] = result.getNewResidents();
+		this.starved[turn] = result.getStarved();
+		this.starvedPercentage[turn] = result.getStarvedPercentage();
+		this.acres[turn] = result.getAcres();
+		long harvested = 0;
+		for (int bushelsOfType : result.getBushelsHarvested())
+			harvested += bushelsOfType;
+		this.bushelsHarvested[turn] = harvested;
+		this.ateByRats[turn] = result.getAteByRates();
+		this.bushelsDecayed[turn] = result.getBushelsDecayed();
+		System.arraycopy(result.getBushelsLong(), 0, this.bushels, turn * GRAIN_TYPES, GRAIN_TYPES);
+	}
+
+	private void grow() {
+		int capacity = this.residents.length * 2;
+		this.residents = Arrays.copyOf(this.residents, capacity);
+		this.newResidents = Arrays.copyOf(this.newResidents, capacity);
+		this.starved = Arrays.copyOf(this.starved, capacity);
+		this.starvedPercentage = Arrays.copyOf(this.starvedPercentage, capacity);
+		this.acres = Arrays.copyOf(this.acres, capacity);
+		this.bushelsHarvested = Arrays.copyOf(this.bushelsHarvested, capacity);
+		this.ateByRats = Arrays.copyOf(this.ateByRats, capacity);
+		this.bushelsDecayed = Arrays.copyOf(this.bushelsDecayed, capacity);
+		this.bushels = Arrays.copyOf(this.bushels, capacity * GRAIN_TYPES);
+	}
+
+	void rejectDecision() {
+		this.rejectedDecisions++;
+	}
+
+	void finish(Outcome outcome, long elapsedNanos) {
+		this.outcome = outcome;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return The number of turns that were played.
+	 */
+	public int getTurns() {
+		return this.turns;
+	}
+
+	/**
+	 * @return How the simulation ended.
+	 */
+	public Outcome getOutcome() {
+		return this.outcome;
+	}
+
+	/**
+	 * @return The number of decisions of the policy that the city rejected, e.g. because of insufficient resources.
+	 */
+	public int getRejectedDecisions() {
+		return this.rejectedDecisions;
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The number of residents after the turn.
+	 */
+	public int getResidents(int turn) {
+		checkTurn(turn);
+		return this.residents[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The number of new residents in the turn.
+	 */
+	public int getNewResidents(int turn) {
+		checkTurn(turn);
+		return this.newResidents[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The number of residents who starved in the turn.
+	 */
+	public int getStarved(int turn) {
+		checkTurn(turn);
+		return this.starved[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The percentage of residents who starved in the turn.
+	 */
+	public int getStarvedPercentage(int turn) {
+		checkTurn(turn);
+		return this.starvedPercentage[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The number of acres after the turn.
+	 */
+	public int getAcres(int turn) {
+		checkTurn(turn);
+		return this.acres[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The bushels of all grain types harvested in the turn.
+	 */
+	public long getBushelsHarvested(int turn) {
+		checkTurn(turn);
+		return this.bushelsHarvested[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The bushels eaten by rats in the turn.
+	 */
+	public int getAteByRats(int turn) {
+		checkTurn(turn);
+		return this.ateByRats[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @return The bushels that decayed in the turn.
+	 */
+	public int getBushelsDecayed(int turn) {
+		checkTurn(turn);
+		return this.bushelsDecayed[turn];
+	}
+
+	/**
+	 * @param turn The turn, starting at 0.
+	 * @param grainType The grain type.
+	 * @return The bushels of the grain type in the depot after the turn.
+	 */
+	public long getBushels(int turn, Game.GrainType grainType) {
+		checkTurn(turn);
+		return this.bushels[turn * GRAIN_TYPES + grainType.ordinal()];
+	}
+
+	/**
+	 * @return The time the simulation took, in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+
+	/**
+	 * @return The number of turns simulated per second.
+	 */
+	public double getTurnsPerSecond() {
+		return (this.elapsedNanos > 0) ? this.turns * 1e9 / this.elapsedNanos : 0;
+	}
+
+	private void checkTurn(int turn) {
+		if (turn < 0 || turn >= this.turns)
+			throw new IndexOutOfBoundsException("Turn " + turn + " was not played, " + this.turns + " turns were played");
+	}
+
+	@Override
+	public String toString() {
+		return "SimulationSummary [turns=" + this.turns + ", outcome=" + this.outcome + ", rejectedDecisions=" + this.rejectedDecisions
+				+ ", turnsPerSecond=" + String.format("%.0f", getTurnsPerSecond()) + "]";
+	}
+}
@@ -0,0 +1,157 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Simulation;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.City;
+import de.htwsaar.esch.Codeopolis.DomainModel.CityView;
+import de.htwsaar.esch.Codeopolis.DomainModel.GameConfig;
+import de.htwsaar.esch.Codeopolis.DomainModel.TurnResult;
+import de.htwsaar.esch.Codeopolis.Exceptions.*;
+
+/**
+ * The Simulator plays a city headless: it asks a {@link DecisionPolicy} for the decisions of every turn,
+ * applies them to the {@link City} and runs the turn, in the same order as the game loop of {@link de.htwsaar.esch.Codeopolis.DomainModel.Game}.
+ * There is no user interface, so a decision the city rejects is not asked again but skipped.
+ * The results of the turns are collected into a {@link SimulationSummary}.
+ */
+public class Simulator {
+	private GameConfig config;
+	private DecisionPolicy policy;
+	private RandomGenerator fortune;
+	private long simulatedTurns;
+	private long elapsedNanos;
+
+	/**
+	 * Constructs a simulator for cities of the given configuration played with the given policy.
+	 *
+	 * @param config The game configuration.
+	 * @param policy The policy that makes the decisions of every turn.
+	 */
+	public Simulator(GameConfig config, DecisionPolicy policy) {
+		this(config, policy, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a simulator that draws the price per acre from the given random number generator.
+	 *
+	 * @param config The game configuration.
+	 * @param policy The policy that makes the decisions of every turn.
+	 * @param fortune The random number generator for the price per acre.
+	 */
+	public Simulator(GameConfig config, DecisionPolicy policy, RandomGenerator fortune) {
+		this.config = config;
+		this.policy = policy;
+		this.fortune = fortune;
+	}
+
+	/**
+	 * Simulates a new city for the number of years of the game configuration.
+	 *
+	 * @param name The name of the city.
+	 * @return The summary of the simulation.
+	 */
+	public SimulationSummary run(String name) {
+		return run(new City(java.util.UUID.randomUUID().toString(), name, this.config), this.config.getNumberOfYears());
+	}
+
+	/**
+	 * Simulates the given city for at most the given number of years.
+	 * The simulation ends early if the city is extinct or more than half of its residents starved in one year.
+	 *
+	 * @param city The city to be simulated.
+	 * @param years The maximum number of years to be simulated.
+	 * @return The summary of the simulation.
+	 */
+	public SimulationSummary run(City city, int years) {
+		SimulationSummary summary = new SimulationSummary(years);
+		SimulationSummary.Outcome outcome = SimulationSummary.Outcome.SURVIVED;
+		long start = System.nanoTime();
+		for (int turn = 0; turn < years; turn++) {
+			TurnResult result = runTurn(city, summary);
+			summary.record(result);
+			if (city.cityExtinct()) {
+				outcome = SimulationSummary.Outcome.EXTINCT;
+				break;
+			}
+			if (result.getStarvedPercentage() > 50) {
+				outcome = SimulationSummary.Outcome.TOO_MANY_STARVED;
+				break;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		summary.finish(outcome, elapsed);
+		this.simulatedTurns += summary.getTurns();
+		this.elapsedNanos += elapsed;
+		return summary;
+	}
+
+	/**
+	 * Applies the decisions of the policy to the city and runs one turn.
+	 *
+	 * @param city The city to be simulated.
+	 * @param summary The summary the rejected decisions are counted in.
+	 * @return The result of the turn.
+	 */
+	private TurnResult runTurn(City city, SimulationSummary summary) {
+		// The view reads the city as it is now, a CityState would snapshot the depot before every decision
+		CityView view = city.getView();
+		city.expandDepot(this.policy.expandDepot(view), this.config.getSiloCapacity());
+
+		int pricePerAcre = getPricePerAcre();
+		try {
+			city.buy(pricePerAcre, this.policy.buy(pricePerAcre, view));
+		} catch (InsufficientResourcesException e) {
+			summary.rejectDecision();
+		}
+
+		pricePerAcre = getPricePerAcre();
+		try {
+			city.sell(pricePerAcre, this.policy.sell(pricePerAcre, view));
+		} catch (LandOperationException | DepotCapacityExceededException e) {
+			summary.rejectDecision();
+		}
+
+		try {
+			city.feed(this.policy.feed(this.config.getBushelsPerResident(), view));
+		} catch (InsufficientResourcesException e) {
+			summary.rejectDecision();
+			try {
+				city.feed(0); // Otherwise the residents would be fed the amount of the last year
+			} catch (InsufficientResourcesException impossible) {
+				throw new IllegalStateException(impossible);
+			}
+		}
+
+		try {
+			city.plant(this.policy.plant(this.config.getBushelsPerAcre(), this.config.getAcrePerResident(), view));
+		} catch (InsufficientResourcesException | LandOperationException e) {
+			summary.rejectDecision();
+		}
+
+		return city.runTurn(false); // The summary never reads the depot report
+	}
+
+	/**
+	 * Generates a random price per acre within the configured range, like the game does.
+	 *
+	 * @return the generated price per acre
+	 */
+	private int getPricePerAcre() {
+		return this.fortune.nextInt(this.config.getMaxAcrePrice() - this.config.getMinArcrPrice()) + this.config.getMinArcrPrice();
+	}
+
+	/**
+	 * @return The number of turns simulated by this simulator so far.
+	 */
+	public long getSimulatedTurns() {
+		return this.simulatedTurns;
+	}
+
+	/**
+	 * @return The number of turns this simulator simulated per second so far.
+	 */
+	public double getTurnsPerSecond() {
+		return (this.elapsedNanos > 0) ? this.simulatedTurns * 1e9 / this.elapsedNanos : 0;
+	}
+}
@@ -0,0 +1,48 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Simulation;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.CityView;
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
+/**
+ * A simple strategy that never trades land or expands the depot. It feeds as many residents as the stock allows
+ * and plants every acre the residents can farm, each grain type in proportion to its stock.
+ */
+public class SubsistencePolicy implements DecisionPolicy {
+
+	@Override
+	public int expandDepot(CityView city) {
+		return 0;
+	}
+
+	@Override
+	public int buy(int pricePerAcre, CityView city) {
+		return 0;
+	}
+
+	@Override
+	public int sell(int pricePerAcre, CityView city) {
+		return 0;
+	}
+
+	@Override
+	public int feed(int bushelsPerResident, CityView city) {
+		long required = (long) city.getResidents() * bushelsPerResident;
+		return (int) Math.min(required, city.getTotalAmountOfBushelsLong());
+	}
+
+	@Override
+	public int[] plant(int bushelsPerAcre, int acrePerResident, CityView city) {
+		int[] acres = new int[Game.GrainType.values().length];
+		long stock = city.getTotalAmountOfBushelsLong();
+		if (stock == 0 || bushelsPerAcre <= 0)
+			return acres;
+
+		long farmable = Math.min((long) city.getAcres(), (long) city.getResidents() * acrePerResident);
+		for (Game.GrainType grainType : Game.GrainType.values()) {
+			long bushels = city.getBushelsLong(grainType);
+			long share = farmable * bushels / stock;
+			acres[grainType.ordinal()] = (int) Math.min(share, bushels / bushelsPerAcre);
+		}
+		return acres;
+	}
+}
@@ -0,0 +1,298 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * An array backed list that stores its elements in fixed-size chunks.
+ * Indexed access is constant time. Appending is amortized constant time and never copies elements,
+ * because growing the list only allocates a new chunk and, from time to time, a larger chunk directory.
+ * The list offers the same iterator contract as {@link LinkedList}, so it can be used as a drop-in
+ * replacement wherever random access is needed.
+ * <p>
+ * A {@link #snapshot()} of the list is taken in constant time and shares all chunks with the list.
+ * A chunk is copied by the first write of either list after the snapshot, so both lists stay independent.
+ *
+ * @param <T> The type of the elements held in this list.
+ */
+public class ChunkedList<T extends Comparable> implements Serializable {
+    // Every chunk holds 2^CHUNK_SHIFT elements
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_DIRECTORY_SIZE = 4;
+
+    private Object[][] chunks;
+    // The list that may write into a chunk without copying it first, compared by identity
+    private Owner[] chunkOwners;
+    private Owner owner;
+    // Whether the chunk directory is shared with a snapshot and has to be copied before it is changed
+    private boolean directoryShared;
+    private int size;
+    // Number of structural modifications, used by the iterators to detect concurrent modifications
+    private int modCount;
+
+    /**
+     * Identity token of a list, marks the chunks the list owns.
+     */
+    private static final class Owner implements Serializable {
+    }
+
+    /**
+     * Iterator over the elements of a {@link ChunkedList}.
+     */
+    private class ChunkedIterator implements LinkedList.Iterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            cursor++;
+            return elementAt(lastReturned);
+        }
+
+        /**
+         * Removes the element that was returned by the last call to {@code next()}.
+         * The following elements are shifted to the left, so this operation is linear in the number of following elements.
+         */
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("next() has not been called or remove() already called after the last next()");
+            }
+            checkForComodification();
+            ChunkedList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Constructs an empty list.
+     */
+    public ChunkedList() {
+        this.chunks = new Object[INITIAL_DIRECTORY_SIZE][];
+        this.chunkOwners = new Owner[INITIAL_DIRECTORY_SIZE];
+        this.owner = new Owner();
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    /**
+     * Constructs a snapshot of the other list that shares all chunks with it.
+     * Neither list owns a chunk afterwards, so both copy a chunk before they write into it.
+     */
+    private ChunkedList(ChunkedList<T> other) {
+        this.chunks = other.chunks;
+        this.chunkOwners = other.chunkOwners;
+        this.owner = new Owner();
+        this.directoryShared = true;
+        this.size = other.size;
+        this.modCount = 0;
+
+        other.owner = new Owner();
+        other.directoryShared = true;
+    }
+
+    /**
+     * Creates a snapshot of the list in constant time.
+     * The snapshot shares its chunks with this list until one of the lists is modified, so changes to one list
+     * are never visible in the other. The elements themselves are not copied.
+     *
+     * @return A list holding the same elements as this list.
+     */
+    public ChunkedList<T> snapshot() {
+        return new ChunkedList<>(this);
+    }
+
+    /**
+     * Appends the specified element to the end of the list.
+     *
+     * @param content The element to be appended.
+     */
+    public void addLast(T content) {
+        int chunk = size >>> CHUNK_SHIFT;
+        if (chunk == chunks.length) {
+            // Only the directory of chunk references is copied, the elements stay where they are
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            chunkOwners = Arrays.copyOf(chunkOwners, chunkOwners.length * 2);
+            directoryShared = false;
+        }
+        if (chunks[chunk] == null) {
+            ownDirectory();
+            chunks[chunk] = new Object[CHUNK_SIZE];
+            chunkOwners[chunk] = owner;
+        }
+        writableChunk(chunk)[size & CHUNK_MASK] = content;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the last element of the list. Does nothing if the list is empty.
+     */
+    public void removeLast() {
+        if (size > 0) {
+            size--;
+            writableChunk(size >>> CHUNK_SHIFT)[size & CHUNK_MASK] = null;
+            modCount++;
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the element at the specified position in constant time.
+     *
+     * @param index The position of the element.
+     * @return The element at the specified position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public T get(int index) {
+        checkIndex(index);
+        return elementAt(index);
+    }
+
+    /**
+     * Replaces the element at the specified position.
+     *
+     * @param content The new element.
+     * @param index   The position of the element to be replaced.
+     * @return The element previously stored at the specified position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public T set(T content, int index) {
+        checkIndex(index);
+        T result = elementAt(index);
+        writableChunk(index >>> CHUNK_SHIFT)[index & CHUNK_MASK] = content;
+        return result;
+    }
+
+    /**
+     * Removes the element at the specified position and shifts all following elements to the left.
+     *
+     * @param index The position of the element to be removed.
+     * @return The removed element.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public T remove(int index) {
+        checkIndex(index);
+        T result = elementAt(index);
+        for (int i = index + 1; i < size; i++) {
+            writableChunk((i - 1) >>> CHUNK_SHIFT)[(i - 1) & CHUNK_MASK] = chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+        }
+        removeLast();
+        return result;
+    }
+
+    /**
+     * Removes all elements from the list.
+     */
+    public void clear() {
+        this.chunks = new Object[INITIAL_DIRECTORY_SIZE][];
+        this.chunkOwners = new Owner[INITIAL_DIRECTORY_SIZE];
+        this.directoryShared = false;
+        this.size = 0;
+        modCount++;
+    }
+
+    /**
+     * Creates an iterator over the elements of this list.
+     *
+     * @return An iterator starting at the first element.
+     */
+    public LinkedList.Iterator<T> makeIterator() {
+        return new ChunkedIterator();
+    }
+
+    /**
+     * Sorts the list according to the natural ordering of its elements.
+     * The sort is stable.
+     */
+    @SuppressWarnings("unchecked")
+    public void sort() {
+        sort((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Sorts the list with the given comparator.
+     * The sort is stable.
+     *
+     * @param comparator The comparator that determines the order of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> comparator) {
+        if (size > 1) {
+            Object[] elements = new Object[size];
+            for (int i = 0; i < size; i++) {
+                elements[i] = chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+            }
+            Arrays.sort(elements, (a, b) -> comparator.compare((T) a, (T) b));
+            for (int i = 0; i < size; i++) {
+                writableChunk(i >>> CHUNK_SHIFT)[i & CHUNK_MASK] = elements[i];
+            }
+            modCount++;
+        }
+    }
+
+    /**
+     * Copies the chunk directory if it is shared with a snapshot.
+     */
+    private void ownDirectory() {
+        if (directoryShared) {
+            chunks = chunks.clone();
+            chunkOwners = chunkOwners.clone();
+            directoryShared = false;
+        }
+    }
+
+    /**
+     * Returns a chunk this list may write into, copying it first if it is shared with a snapshot.
+     */
+    private Object[] writableChunk(int chunk) {
+        if (chunkOwners[chunk] != owner) {
+            ownDirectory();
+            chunks[chunk] = chunks[chunk].clone();
+            chunkOwners[chunk] = owner;
+        }
+        return chunks[chunk];
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -4,11 +4,133 @@ import de.htwsaar.esch.Codeopolis.DomainModel.Game;
 import de.htwsaar.esch.Codeopolis.DomainModel.GameConfig;
 import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.Harvest;
 
-import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.NoSuchElementException;
+import java.util.TreeSet;
 
 public class Depot {
-    private LinkedList<Silo> silos;
+    /**
+     * Decides how a withdrawal that is not bound to a grain type is distributed over the silos.
+     */
+    public enum WithdrawalPolicy {
+        /**
+         * Every silo loses a share of the amount proportional to its fill level.
+         */
+        PROPORTIONAL,
+        /**
+         * The silos are drained one after another in the order they were added to the depot.
+         */
+        SEQUENTIAL
+    }
+
+    /**
+     * Decides which silos receive a harvest that is stored in the depot.
+     */
+    public enum Placement {
+        /**
+         * The harvest goes into the silo with the least free capacity that still takes all of it, found in logarithmic time.
+         * Silos already holding the grain type are preferred to empty silos. A harvest is only split if no silo takes all of it,
+         * and then the silos with the most free capacity are used first.
+         */
+        BEST_FIT,
+        /**
+         * The harvest is spread over the silos in the order they were added, silos already holding its year first.
+         */
+        FIRST_FIT
+    }
+
+    private ChunkedList<Silo> silos;
+    // The ids of the silos currently holding grain, grouped by their grain type. The id of a silo is its position in the list of silos
+    private final EnumMap<Game.GrainType, BitSet> silosByGrainType = new EnumMap<>(Game.GrainType.class);
+    // The ids of the silos currently empty, any grain type may be stored in them
+    private final BitSet emptySilos = new BitSet();
+    private final Silo.Listener siloIndexUpdater = new SiloIndexUpdater();
+    // Keys of the silos holding grain, grouped by their grain type, and of the empty silos, ordered by free capacity and id
+    private final EnumMap<Game.GrainType, TreeSet<Long>> freeCapacityIndex = new EnumMap<>(Game.GrainType.class);
+    private final TreeSet<Long> emptySilosByCapacity = new TreeSet<>();
+    // The free capacity each silo is indexed with, by id
+    private int[] indexedFreeCapacity = new int[16];
+    // The silo that received the last harvest of a grain type, the first candidate for the next harvest of the same year
+    private final int[] lastStoredSiloByGrainType = new int[Game.GrainType.values().length];
+    // Silos of an older epoch may be shared with a snapshot and are copied before they are modified
+    private int epoch;
+    // Empty silos added by an expansion that are not materialized yet. For every reserved capacity the empty silos
+    // hold at least one real silo of that capacity, so placement never has to look into the reserve
+    private final SiloReserve reserve = new SiloReserve();
+
+    // Running totals, kept up to date by the silos through the listener. A single silo holds at most Integer.MAX_VALUE
+    // bushels, the totals of the depot may exceed that and are therefore kept as long
+    private final long[] fillLevelByGrainType = new long[Game.GrainType.values().length];
+    private final long[] capacityByGrainType = new long[Game.GrainType.values().length];
+    private long emptyCapacity;
+    private long totalFillLevel;
+    private long totalCapacity;
+    // The first year in which any harvest of a grain type decays, never later than the actual year
+    private final int[] nextDecayYearByGrainType = new int[Game.GrainType.values().length];
+    private WithdrawalPolicy withdrawalPolicy = WithdrawalPolicy.PROPORTIONAL;
+    private Placement placement = Placement.BEST_FIT;
+
+    /**
+     * Keeps the grain type index and the running totals of the depot up to date
+     * whenever a silo receives its first harvest, runs empty or changes its fill level.
+     */
+    private class SiloIndexUpdater implements Silo.Listener {
+        @Override
+        public void grainTypeAssigned(Silo silo, Game.GrainType grainType) {
+            emptySilos.clear(silo.id);
+            silosByGrainType.get(grainType).set(silo.id);
+            emptySilosByCapacity.remove(freeCapacityKey(silo.id));
+            indexFreeCapacity(silo, freeCapacityIndex.get(grainType));
+            emptyCapacity -= silo.getCapacity();
+            capacityByGrainType[grainType.ordinal()] += silo.getCapacity();
+            ensureEmptySilo(silo.getCapacity());
+        }
+
+        @Override
+        public void siloEmptied(Silo silo, Game.GrainType previousGrainType) {
+            silosByGrainType.get(previousGrainType).clear(silo.id);
+            emptySilos.set(silo.id);
+            freeCapacityIndex.get(previousGrainType).remove(freeCapacityKey(silo.id));
+            indexFreeCapacity(silo, emptySilosByCapacity);
+            capacityByGrainType[previousGrainType.ordinal()] -= silo.getCapacity();
+            emptyCapacity += silo.getCapacity();
+        }
+
+        @Override
+        public void fillLevelChanged(Silo silo, Game.GrainType grainType, int delta) {
+            fillLevelByGrainType[grainType.ordinal()] += delta;
+            totalFillLevel += delta;
+            if (silo.getGrainType() != null) {
+                TreeSet<Long> index = freeCapacityIndex.get(silo.getGrainType());
+                index.remove(freeCapacityKey(silo.id));
+                indexFreeCapacity(silo, index);
+            }
+        }
+    }
+
+    /**
+     * Builds the key of a silo in a free capacity index. Keys are ordered by the indexed free capacity first and by the id second.
+     *
+     * @param id The id of the silo.
+     * @return The key of the silo.
+     */
+    private long freeCapacityKey(int id) {
+        return ((long) this.indexedFreeCapacity[id] << 32) | id;
+    }
+
+    /**
+     * Adds a silo to a free capacity index with its current free capacity.
+     *
+     * @param silo  The silo to be indexed.
+     * @param index The index the silo is added to.
+     */
+    private void indexFreeCapacity(Silo silo, TreeSet<Long> index) {
+        this.indexedFreeCapacity[silo.id] = silo.getCapacity() - silo.getFillLevel();
+        index.add(freeCapacityKey(silo.id));
+    }
 
     /**
      * Constructs a Depot object with the specified number of silos and capacity per silo.
@@ -17,9 +139,10 @@ public class Depot {
      * @param capacityPerSilo The capacity per silo.
      */
     public Depot(int numberOfSilos, int capacityPerSilo) {
-        this.silos = new LinkedList<>();
+        this.silos = new ChunkedList<>();
+        initGrainTypeIndex();
         for (int i = 0; i < numberOfSilos; i++) {
-            this.silos.addLast(new Silo(capacityPerSilo));
+            addSilo(new Silo(capacityPerSilo));
         }
     }
 
@@ -30,14 +153,175 @@ public class Depot {
      * @param silosList The array of Silo objects to be copied into the depot.
      */
     public Depot(LinkedList<Silo> silosList) {   // probably used when a Game is loaded
-        this.silos = new LinkedList<>();
+        this.silos = new ChunkedList<>();
+        initGrainTypeIndex();
         if (silosList == null) {
         } else {
             LinkedList<Silo>.LinkedIterator<Silo> iter = silosList.makeIterator();
             while (iter.hasNext()) {
-                this.silos.addLast(iter.next());
+                addSilo(new Silo(iter.next()));
+            }
+        }
+    }
+
+    /**
+     * Constructs a Depot object holding copies of the silos of the given snapshot, used when a saved game is loaded.
+     *
+     * @param snapshot The snapshot of the depot to be restored.
+     */
+    public Depot(DepotSnapshot snapshot) {
+        this.silos = new ChunkedList<>();
+        initGrainTypeIndex();
+        for (int i = 0; i < snapshot.materializedSize(); i++) {
+            addSilo(new Silo(snapshot.get(i)));
+        }
+        SiloReserve reservedSilos = snapshot.getReserve();
+        for (int run = 0; run < reservedSilos.runs(); run++) {
+            reserveSilos(reservedSilos.countOfRun(run), reservedSilos.capacityOfRun(run));
+        }
+    }
+
+    private void initGrainTypeIndex() {
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            this.silosByGrainType.put(grainType, new BitSet());
+            this.freeCapacityIndex.put(grainType, new TreeSet<>());
+        }
+        Arrays.fill(this.nextDecayYearByGrainType, Integer.MAX_VALUE);
+        Arrays.fill(this.lastStoredSiloByGrainType, -1);
+    }
+
+    /**
+     * Appends a silo to the depot and registers it in the grain type index.
+     * Silos without any capacity can never hold grain and are therefore not indexed.
+     *
+     * @param silo The silo to be added.
+     */
+    private void addSilo(Silo silo) {
+        silo.id = this.silos.size();
+        silo.epoch = this.epoch;
+        if (silo.id == this.indexedFreeCapacity.length) {
+            this.indexedFreeCapacity = Arrays.copyOf(this.indexedFreeCapacity, silo.id * 2);
+        }
+        this.silos.addLast(silo);
+        silo.setListener(this.siloIndexUpdater);
+        this.totalCapacity += silo.getCapacity();
+        if (silo.getGrainType() != null) {
+            this.silosByGrainType.get(silo.getGrainType()).set(silo.id);
+            indexFreeCapacity(silo, this.freeCapacityIndex.get(silo.getGrainType()));
+            this.capacityByGrainType[silo.getGrainType().ordinal()] += silo.getCapacity();
+            this.fillLevelByGrainType[silo.getGrainType().ordinal()] += silo.getFillLevel();
+            this.totalFillLevel += silo.getFillLevel();
+            updateNextDecayYear(silo);
+        } else if (silo.getCapacity() > 0) {
+            this.emptySilos.set(silo.id);
+            indexFreeCapacity(silo, this.emptySilosByCapacity);
+            this.emptyCapacity += silo.getCapacity();
+        }
+    }
+
+    /**
+     * Adds empty silos to the reserve without creating them. The first silo of a capacity the empty silos
+     * do not offer yet is materialized right away.
+     *
+     * @param numberOfSilos   The number of silos to be added.
+     * @param capacityPerSilo The capacity per silo.
+     */
+    private void reserveSilos(int numberOfSilos, int capacityPerSilo) {
+        this.reserve.add(capacityPerSilo, numberOfSilos);
+        this.totalCapacity += (long) numberOfSilos * capacityPerSilo;
+        this.emptyCapacity += (long) numberOfSilos * capacityPerSilo;
+        ensureEmptySilo(capacityPerSilo);
+    }
+
+    /**
+     * Materializes a reserved silo of the given capacity if no real empty silo of that capacity is left.
+     *
+     * @param capacity The capacity of the silo.
+     */
+    private void ensureEmptySilo(int capacity) {
+        if (capacity <= 0 || !this.reserve.contains(capacity)) {
+            return;
+        }
+        Long key = this.emptySilosByCapacity.ceiling((long) capacity << 32);
+        if (key == null || (key >>> 32) != capacity) {
+            this.reserve.remove(capacity);
+            // Counted in the totals already, addSilo counts it again
+            this.totalCapacity -= capacity;
+            this.emptyCapacity -= capacity;
+            addSilo(new Silo(capacity));
+        }
+    }
+
+    /**
+     * Returns the silo with the given id, ready to be modified.
+     * A silo that may be shared with a snapshot is replaced by a copy first, so the snapshot keeps its state.
+     *
+     * @param id The id of the silo.
+     * @return The silo with the given id, owned by this depot alone.
+     */
+    private Silo mutableSilo(int id) {
+        Silo silo = this.silos.get(id);
+        if (silo.epoch != this.epoch) {
+            silo.setListener(null);
+            silo = new Silo(silo);
+            silo.id = id;
+            silo.epoch = this.epoch;
+            silo.setListener(this.siloIndexUpdater);
+            this.silos.set(silo, id);
+        }
+        return silo;
+    }
+
+    /**
+     * Takes a snapshot of the silos of the depot in constant time.
+     * No silo is copied now: the depot copies a silo when it modifies it for the first time after the snapshot,
+     * so the silos that were not touched stay shared between the depot and all of its snapshots.
+     *
+     * @return An immutable snapshot of the current silos.
+     */
+    public DepotSnapshot snapshot() {
+        this.epoch++;
+        return new DepotSnapshot(this.silos.snapshot(), new SiloReserve(this.reserve));
+    }
+
+    /**
+     * Recounts all running totals from the silos and compares them with the maintained values.
+     * Only called from assertions, so the full recount is skipped unless the JVM runs with {@code -ea}.
+     *
+     * @return {@code true} if the running totals match the recount.
+     */
+    private boolean aggregatesConsistent() {
+        long[] fillLevels = new long[Game.GrainType.values().length];
+        long[] capacities = new long[Game.GrainType.values().length];
+        long emptyCapacityRecount = 0;
+        long totalFillLevelRecount = 0;
+        long totalCapacityRecount = 0;
+
+        Cursor cursor = cursor();
+        while (cursor.advance()) {
+            totalCapacityRecount += cursor.capacity();
+            totalFillLevelRecount += cursor.fillLevel();
+            if (cursor.grainType() == null) {
+                emptyCapacityRecount += cursor.capacity();
+            } else {
+                fillLevels[cursor.grainType().ordinal()] += cursor.fillLevel();
+                capacities[cursor.grainType().ordinal()] += cursor.capacity();
             }
         }
+
+        int indexedSilos = this.emptySilosByCapacity.size();
+        int siloIds = this.emptySilos.cardinality();
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            indexedSilos += this.freeCapacityIndex.get(grainType).size();
+            siloIds += this.silosByGrainType.get(grainType).cardinality();
+        }
+
+        return indexedSilos == siloIds
+                && Arrays.equals(fillLevels, this.fillLevelByGrainType)
+                && Arrays.equals(capacities, this.capacityByGrainType)
+                && emptyCapacityRecount == this.emptyCapacity
+                && totalFillLevelRecount == this.totalFillLevel
+                && totalCapacityRecount == this.totalCapacity;
     }
 
     /**
@@ -47,15 +331,28 @@ public class Depot {
      * @return The total amount of grain stored in the depot for the specified grain type.
      */
     public int getFillLevel(Game.GrainType grainType) {
-        int totalFillLevel = 0;
-        Iterator iterator = new DepotIterator(grainType);
+        return saturatedInt(getFillLevelLong(grainType));
+    }
 
-        // Add the fill level as long as there is another silo with the correct GrainType
-        while (iterator.hasNext()) {
-            Silo.Status currStatus = iterator.next();
-            totalFillLevel += currStatus.getFillLevel();
-        }
-        return totalFillLevel;
+    /**
+     * Retrieves the current fill level of the depot for a specific grain type without limiting it to the int range.
+     *
+     * @param grainType The grain type for which to retrieve the fill level.
+     * @return The total amount of grain stored in the depot for the specified grain type.
+     */
+    public long getFillLevelLong(Game.GrainType grainType) {
+        assert aggregatesConsistent() : "Running totals of the depot are out of sync";
+        return this.fillLevelByGrainType[grainType.ordinal()];
+    }
+
+    /**
+     * Limits a total of the depot to the range of the int accessors.
+     *
+     * @param value The total, never negative.
+     * @return The total, or {@code Integer.MAX_VALUE} if it is larger.
+     */
+    private static int saturatedInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
     }
 
     /**
@@ -66,98 +363,233 @@ public class Depot {
      * @return A copy of the silos array.
      */
     public LinkedList<Silo> getSilos() {
-        // Create a new array of Silo with the same length as the original
-
-        LinkedList<Silo> silosCopy = new LinkedList<>();
-
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silosCopy.makeIterator();
-
-        while (iter.hasNext()) {
-            Silo currSilo = iter.next();
-            silosCopy.addLast(currSilo);
-        }
-
-        return silosCopy;
+        // Copied right away from the silos of the depot, a snapshot would make the next modification copy shared silos and chunks
+        return new DepotSnapshot(this.silos, this.reserve).getSilos();
     }
 
     /**
      * Gets the total amount of bushels (grain) stored in the depot.
      *
-     * @return The total amount of bushels stored in the depot.
+     * @return The total amount of bushels stored in the depot, at most {@code Integer.MAX_VALUE}.
+     * @see #getTotalFillLevelLong()
      */
     public int getTotalFillLevel() {
-        int totalBushels = 0;
-
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
-
-        while (iter.hasNext()) {
-            Silo currSilo = iter.next();
-            totalBushels += currSilo.getFillLevel();
-        }
-
+        return saturatedInt(getTotalFillLevelLong());
+    }
 
-        return totalBushels;
+    /**
+     * Gets the total amount of bushels (grain) stored in the depot without limiting it to the int range.
+     *
+     * @return The total amount of bushels stored in the depot.
+     */
+    public long getTotalFillLevelLong() {
+        assert aggregatesConsistent() : "Running totals of the depot are out of sync";
+        return this.totalFillLevel;
     }
 
     /**
-     * Retrieves the capacity of the depot for a specific grain type.
-     * TEsting
+     * Retrieves the capacity of the depot for a specific grain type, including the capacity of the empty silos.
      *
      * @param grainType The grain type for which to retrieve the capacity.
-     * @return The total capacity of the depot for the specified grain type.
+     * @return The total capacity of the depot for the specified grain type, at most {@code Integer.MAX_VALUE}.
+     * @see #getCapacityLong(Game.GrainType)
      */
     public int getCapacity(Game.GrainType grainType) {
-        int totalCapacity = 0;
-        Iterator iterator = new DepotIterator(grainType);
-
-
-        // Add the capacity as long as there is another silo with the correct GrainType
-        while (iterator.hasNext()) {
-            Silo.Status currStatus = iterator.next();
-            totalCapacity += currStatus.getCapacity();
-        }
+        return saturatedInt(getCapacityLong(grainType));
+    }
 
-        return totalCapacity;
+    /**
+     * Retrieves the capacity of the depot for a specific grain type, including the capacity of the empty silos,
+     * without limiting it to the int range.
+     *
+     * @param grainType The grain type for which to retrieve the capacity.
+     * @return The total capacity of the depot for the specified grain type.
+     */
+    public long getCapacityLong(Game.GrainType grainType) {
+        assert aggregatesConsistent() : "Running totals of the depot are out of sync";
+        // Empty silos may take any grain type
+        return this.capacityByGrainType[grainType.ordinal()] + this.emptyCapacity;
     }
 
     /**
      * Stores a harvest in the depot.
+     * Harvests without any grain are dropped.
      *
      * @param harvest The harvest to be stored in the depot.
      * @return True if the harvest was successfully stored, false otherwise.
      */
     public boolean store(Harvest harvest) {
+        return storeAll(new Harvest[] {harvest})[0] == 0;
+    }
 
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
+    /**
+     * Stores several harvests in the depot at once, e.g. the harvests of all grain types of a year.
+     * All harvests are placed first. If some of them do not fit, the depot is defragmented at most once
+     * and the rest of these harvests is placed again.
+     * Harvests without any grain and {@code null} elements are skipped.
+     *
+     * @param harvests The harvests to be stored in the depot.
+     * @return The amount of grain of each harvest that could not be stored, at the index of the harvest.
+     */
+    public int[] storeAll(Harvest[] harvests) {
+        int[] rejected = new int[harvests.length];
+        Harvest[] rests = null;
+        boolean defragmentationPaysOff = false;
+        for (int i = 0; i < harvests.length; i++) {
+            if (harvests[i] == null || harvests[i].getAmount() == 0) {
+                continue; // Nothing to store
+            }
+            Harvest rest = placeHarvest(harvests[i]);
+            if (rest != null) {
+                if (rests == null) {
+                    rests = new Harvest[harvests.length];
+                }
+                rests[i] = rest;
+                rejected[i] = rest.getAmount();
+                // Compacting only pays off if enough free space is locked in silos of other grain types
+                defragmentationPaysOff |= strandedCapacity(rest.getGrainType()) >= GameConfig.DEPOT_DEFRAGMENTATION_THRESHOLD * this.totalCapacity;
+            }
+        }
 
-        while (iter.hasNext()) {
-            Silo currSilo = iter.next();
-            if (currSilo.getGrainType() == harvest.getGrainType() || currSilo.getFillLevel() == 0) {
-                harvest = currSilo.store(harvest);
-                if (harvest == null) {
-                    return true;
+        if (defragmentationPaysOff) {
+            defragment();
+            for (int i = 0; i < rests.length; i++) {
+                if (rests[i] != null) {
+                    Harvest rest = placeHarvest(rests[i]);
+                    rejected[i] = (rest == null) ? 0 : rest.getAmount();
                 }
             }
         }
+        return rejected;
+    }
 
+    /**
+     * Estimates how much free space is unusable for the given grain type because it lies in silos assigned to other grain types.
+     * This is the space a defragmentation could hand back to the pool of empty silos at best. The estimate is computed
+     * from the running totals in time proportional to the number of grain types.
+     *
+     * @param grainType The grain type that is to be stored.
+     * @return The free capacity of the silos holding other grain types.
+     */
+    private long strandedCapacity(Game.GrainType grainType) {
+        long stranded = 0;
+        for (Game.GrainType otherType : Game.GrainType.values()) {
+            if (otherType != grainType) {
+                stranded += this.capacityByGrainType[otherType.ordinal()] - this.fillLevelByGrainType[otherType.ordinal()];
+            }
+        }
+        return stranded;
+    }
 
-        defragment();
+    /**
+     * Places a harvest according to the {@link Placement} of the depot.
+     * Within a silo the harvest is merged with the stored harvest of the same year.
+     *
+     * @param harvest The harvest to be placed.
+     * @return The part of the harvest that did not fit into the depot, or {@code null} if everything was stored.
+     */
+    private Harvest placeHarvest(Harvest harvest) {
+        return (this.placement == Placement.BEST_FIT) ? placeBestFit(harvest) : placeFirstFit(harvest);
+    }
 
-        LinkedList<Silo>.LinkedIterator<Silo> iter2 = silos.makeIterator();
+    /**
+     * Places a harvest into the best fitting silo, see {@link Placement#BEST_FIT}. Every silo is found in logarithmic time.
+     * The silo that received the last harvest of the grain type is tried first, so harvests of the same year are merged
+     * as long as they fit.
+     *
+     * @param harvest The harvest to be placed.
+     * @return The part of the harvest that did not fit into the depot, or {@code null} if everything was stored.
+     */
+    private Harvest placeBestFit(Harvest harvest) {
+        int ordinal = harvest.getGrainType().ordinal();
+        TreeSet<Long> assignedSilos = this.freeCapacityIndex.get(harvest.getGrainType());
+
+        int lastStoredSilo = this.lastStoredSiloByGrainType[ordinal];
+        if (lastStoredSilo >= 0 && assignedSilos.contains(freeCapacityKey(lastStoredSilo))
+                && this.indexedFreeCapacity[lastStoredSilo] >= harvest.getAmount()
+                && this.silos.get(lastStoredSilo).getAmountOfYear(harvest.getYear()) > 0) {
+            return storeInSilo(lastStoredSilo, harvest);
+        }
 
-        while (iter2.hasNext()) {
+        while (harvest != null) {
+            // The smallest silo of the grain type that takes the whole rest, otherwise the smallest empty silo that does
+            long smallestFittingKey = (long) harvest.getAmount() << 32;
+            Long key = assignedSilos.ceiling(smallestFittingKey);
+            if (key == null) {
+                key = this.emptySilosByCapacity.ceiling(smallestFittingKey);
+            }
+            // Nothing takes all of it, so fill the silo with the most free capacity and place the rest again
+            if (key == null && !assignedSilos.isEmpty() && (assignedSilos.last() >>> 32) > 0) {
+                key = assignedSilos.last();
+            }
+            if (key == null && !this.emptySilosByCapacity.isEmpty()) {
+                key = this.emptySilosByCapacity.last();
+            }
+            if (key == null) {
+                return harvest;
+            }
+            harvest = storeInSilo((int) (long) key, harvest);
+        }
+        return null;
+    }
 
+    /**
+     * Stores a harvest in the silo with the given id.
+     *
+     * @param id      The id of the silo.
+     * @param harvest The harvest to be stored.
+     * @return The part of the harvest that did not fit into the silo, or {@code null} if everything was stored.
+     */
+    private Harvest storeInSilo(int id, Harvest harvest) {
+        Silo silo = mutableSilo(id);
+        Harvest rest = silo.store(harvest);
+        updateNextDecayYear(silo);
+        this.lastStoredSiloByGrainType[harvest.getGrainType().ordinal()] = id;
+        return rest;
+    }
 
-            Silo currSilo = iter2.next();
-            if (currSilo.getGrainType() == harvest.getGrainType() || currSilo.getFillLevel() == 0) {
-                harvest = currSilo.store(harvest);
+    /**
+     * Places a harvest into the silos already holding its grain type first and uses empty silos for the rest,
+     * see {@link Placement#FIRST_FIT}.
+     *
+     * @param harvest The harvest to be placed.
+     * @return The part of the harvest that did not fit into the depot, or {@code null} if everything was stored.
+     */
+    private Harvest placeFirstFit(Harvest harvest) {
+        BitSet assignedSilos = this.silosByGrainType.get(harvest.getGrainType());
+        // Silos already holding grain of the same year come first, so the harvest is merged instead of spread over the depot
+        for (int id = assignedSilos.nextSetBit(0); id >= 0; id = assignedSilos.nextSetBit(id + 1)) {
+            if (this.silos.get(id).getAmountOfYear(harvest.getYear()) > 0) {
+                harvest = mutableSilo(id).store(harvest);
                 if (harvest == null) {
-                    return true;
+                    return null;
                 }
             }
         }
 
-        return false;
+        for (int id = assignedSilos.nextSetBit(0); id >= 0; id = assignedSilos.nextSetBit(id + 1)) {
+            if (this.silos.get(id).getFillLevel() == this.silos.get(id).getCapacity()) {
+                continue; // A full silo is not copied just to reject the harvest
+            }
+            Silo currSilo = mutableSilo(id);
+            harvest = currSilo.store(harvest);
+            updateNextDecayYear(currSilo);
+            if (harvest == null) {
+                return null;
+            }
+        }
+
+        for (int id = this.emptySilos.nextSetBit(0); id >= 0; id = this.emptySilos.nextSetBit(id + 1)) {
+            // Storing moves the silo from the empty pool into the index of its new grain type
+            Silo currSilo = mutableSilo(id);
+            harvest = currSilo.store(harvest);
+            updateNextDecayYear(currSilo);
+            if (harvest == null) {
+                return null;
+            }
+        }
+
+        return harvest;
     }
 
     /**
@@ -169,104 +601,196 @@ public class Depot {
      */
     public int takeOut(int amount, Game.GrainType grainType) {
         int takenAmount = 0;
+        BitSet candidates = this.silosByGrainType.get(grainType);
 
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
-
-        while (iter.hasNext() && amount > 0) {
-            Silo currSilo = iter.next();
-            if (currSilo.getGrainType() == grainType) {
-                int taken = currSilo.takeOut(amount);
-                amount -= taken;
-                takenAmount += taken;
+        while (amount > 0 && !candidates.isEmpty()) {
+            // Either the request is served completely or the silo runs empty and leaves the index
+            int taken = mutableSilo(candidates.nextSetBit(0)).takeOut(amount);
+            if (taken == 0) {
+                break;
             }
+            amount -= taken;
+            takenAmount += taken;
         }
 
         return takenAmount;
     }
 
     /**
-     * Takes out the specified amount of grain from the silo, distributing it evenly among the stored bushels.
-     * If the specified amount exceeds the total amount of grain in the silo, all grain is removed and returned.
-     * If the specified amount is less than the total amount of grain, the grain is taken out evenly from each bushel,
-     * with any remaining grain distributed among the bushels in a round-robin fashion.
+     * Takes out the specified amount of grain from the depot regardless of the grain type.
+     * The amount is distributed over the silos according to the {@link WithdrawalPolicy} of the depot in a single pass.
+     * If the specified amount exceeds the total amount of grain in the depot, all grain is removed.
      *
-     * @param amount The amount of grain to be taken out from the silo.
-     * @return The actual amount of grain taken out from the silo.
+     * @param amount The amount of grain to be taken out from the depot.
+     * @return The actual amount of grain taken out from the depot.
      */
     public int takeOut(int amount) {
-        if (amount >= this.getTotalFillLevel()) {
-            int totalAmountOfBushels = this.getTotalFillLevel();
-
-            LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
+        long totalAmountOfBushels = this.getTotalFillLevelLong();
+        if (amount <= 0 || totalAmountOfBushels == 0) {
+            return 0;
+        }
 
-            while (iter.hasNext()) {
-                Silo currSilo = iter.next();
-                currSilo.emptySilo();
+        if (amount >= totalAmountOfBushels) {
+            for (int id = 0; id < this.silos.size(); id++) {
+                if (this.silos.get(id).getFillLevel() > 0) {
+                    mutableSilo(id).emptySilo();
+                }
             }
-
-            return totalAmountOfBushels;
+            return (int) totalAmountOfBushels;
         }
 
+        long remainingBushels = totalAmountOfBushels;
+        int takenAmount = 0;
+        for (int id = 0; id < this.silos.size() && takenAmount < amount; id++) {
+            int fillLevel = this.silos.get(id).getFillLevel();
+            if (fillLevel == 0) {
+                continue;
+            }
 
-        int partion = amount / this.silos.size();   // length
-        int remainder = amount % this.silos.size(); // length
-
-        LinkedList<Silo>.LinkedIterator<Silo> iter2 = silos.makeIterator();
-
-        while (iter2.hasNext()) {
-            Silo currSilo = iter2.next();
-            if (currSilo.getFillLevel() < partion) {
-                remainder += partion - currSilo.getFillLevel();
-                currSilo.emptySilo();
+            int share;
+            if (this.withdrawalPolicy == WithdrawalPolicy.PROPORTIONAL) {
+                // Each silo gives its share of what is still to be taken from the bushels not visited yet.
+                // Both factors fit an int, so the product cannot overflow however large the depot is, the last silo
+                // hands out the remainder and no silo gives more than it holds, since amount < total
+                share = (int) ((long) (amount - takenAmount) * fillLevel / remainingBushels);
+                remainingBushels -= fillLevel;
             } else {
-                currSilo.takeOut(partion);
+                share = Math.min(fillLevel, amount - takenAmount);
             }
-        }
 
-
-        int j = 0;
-        while (remainder > 0) {
-            if (this.silos.get(j).getFillLevel() > 0) {
-                this.silos.get(j).takeOut(1);
-                remainder--;
+            if (share > 0) {
+                takenAmount += mutableSilo(id).takeOut(share);
             }
-            j = (j + 1) % Game.GrainType.values().length;
         }
-        return amount;
+        return takenAmount;
+    }
+
+    /**
+     * Sets the policy that decides how {@link #takeOut(int)} distributes a withdrawal over the silos.
+     *
+     * @param withdrawalPolicy The new withdrawal policy.
+     */
+    public void setWithdrawalPolicy(WithdrawalPolicy withdrawalPolicy) {
+        this.withdrawalPolicy = withdrawalPolicy;
+    }
+
+    public WithdrawalPolicy getWithdrawalPolicy() {
+        return this.withdrawalPolicy;
+    }
+
+    /**
+     * Sets the strategy that decides which silos receive a stored harvest.
+     *
+     * @param placement The new placement strategy.
+     */
+    public void setPlacement(Placement placement) {
+        this.placement = placement;
+    }
+
+    public Placement getPlacement() {
+        return this.placement;
     }
 
     /**
      * Expands the depot by adding more silos with the specified capacity per silo.
+     * The new silos are identical and empty, so they are reserved as one batch in constant time and only created
+     * one at a time when grain is stored in them. The expansion cost is deducted in a single withdrawal.
      *
      * @param numberOfSilos   The number of silos to add.
      * @param capacityPerSilo The capacity per silo.
      */
     public void expand(int numberOfSilos, int capacityPerSilo) {
-        for (int i = 0; i < numberOfSilos; i++) {
-            silos.addLast(new Silo(capacityPerSilo));
+        if (numberOfSilos > 0) {
+            reserveSilos(numberOfSilos, capacityPerSilo);
         }
         this.takeOut((int) (numberOfSilos * GameConfig.DEPOT_EXPANSION_COST)); //#Issue42
     }
 
     /**
-     * Performs defragmentation on the depot to redistribute grain across silos.
+     * Performs defragmentation on the depot to regroup the stock of every grain type into as few silos as possible.
+     * The harvests of a grain type are collected from its silos, harvests of the same year are merged and the
+     * result is packed first-fit-decreasing by amount into the largest silos of that grain type.
+     * Silos that are no longer needed become empty and can take any grain type afterwards.
      */
     public void defragment() {
-        LinkedList<Harvest> allHarvests = new LinkedList<>();
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            BitSet assignedSilos = this.silosByGrainType.get(grainType);
+            if (assignedSilos.cardinality() < 2) {
+                continue; // Nothing to compact
+            }
 
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
-        while (iter.hasNext()) {
-            Silo silo = iter.next();
-            LinkedList<Harvest> siloHarvests = silo.emptySilo();
-            if(siloHarvests != null) {
+            // Emptying a silo removes it from the index, so collect the silos first
+            Silo[] bins = new Silo[assignedSilos.cardinality()];
+            for (int i = 0, id = assignedSilos.nextSetBit(0); id >= 0; i++, id = assignedSilos.nextSetBit(id + 1)) {
+                bins[i] = mutableSilo(id);
+            }
+            LinkedList<Harvest> harvests = new LinkedList<>();
+            long totalAmount = 0;
+            for (Silo bin : bins) {
+                totalAmount += bin.getFillLevel();
+                LinkedList<Harvest> siloHarvests = bin.emptySilo();
+                if (siloHarvests != null) {
+                    harvests.splice(siloHarvests);
+                }
+            }
 
-                LinkedList<Harvest>.LinkedIterator<Harvest> harvestIter = siloHarvests.makeIterator();
-                while (harvestIter.hasNext()) {
-                    allHarvests.addLast(harvestIter.next());
+            mergeHarvestsOfSameYear(harvests);
+            harvests.sort(Comparator.comparingInt(Harvest::getAmount).reversed());
+
+            // The largest silos that together hold the stock are enough
+            Arrays.sort(bins, Comparator.comparingInt(Silo::getCapacity).reversed());
+            int binsNeeded = 0;
+            for (long capacity = 0; capacity < totalAmount; binsNeeded++) {
+                capacity += bins[binsNeeded].getCapacity();
+            }
+
+            LinkedList<Harvest>.LinkedIterator<Harvest> iter = harvests.makeIterator();
+            while (iter.hasNext()) {
+                Harvest harvest = iter.next();
+                Silo firstFit = null;
+                for (int i = 0; i < binsNeeded && firstFit == null; i++) {
+                    if (bins[i].getCapacity() - bins[i].getFillLevel() >= harvest.getAmount()) {
+                        firstFit = bins[i];
+                    }
+                }
+
+                if (firstFit != null) {
+                    firstFit.store(harvest);
+                } else {
+                    // No single silo has enough room left, so the harvest is split over the silos
+                    for (int i = 0; i < binsNeeded && harvest != null; i++) {
+                        harvest = bins[i].store(harvest);
+                    }
                 }
             }
         }
+    }
+
+    /**
+     * Merges all harvests of the same year into one harvest and drops harvests without any grain.
+     * A year holding more than {@link Integer#MAX_VALUE} bushels is kept in several harvests.
+     * The list has to contain harvests of a single grain type.
+     *
+     * @param harvests The harvests to be merged.
+     */
+    private static void mergeHarvestsOfSameYear(LinkedList<Harvest> harvests) {
+        // Harvests are ordered by year naturally
+        harvests.sort();
+        Harvest previous = null;
+        LinkedList<Harvest>.LinkedIterator<Harvest> iter = harvests.makeIterator();
+        while (iter.hasNext()) {
+            Harvest harvest = iter.next();
+            if (harvest.getAmount() == 0) {
+                iter.remove();
+            } else if (previous != null && previous.getYear() == harvest.getYear()
+                    && previous.getAmount() <= Integer.MAX_VALUE - harvest.getAmount()) {
+                previous.merge(harvest);
+                iter.remove();
+            } else {
+                previous = harvest;
+            }
         }
+    }
 
 
     /**
@@ -274,9 +798,9 @@ public class Depot {
      *
      * @return The total count of harvests stored in all silos combined.
      */
-    private int getTotalHarvestCount() {
+    public int getTotalHarvestCount() {
         int totalCount = 0;
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
+        LinkedList.Iterator<Silo> iter = silos.makeIterator();
         while (iter.hasNext()){
             totalCount += iter.next().getHarvestCount();
         }
@@ -286,16 +810,45 @@ public class Depot {
 
     /**
      * Simulates the decay of grain in the depot over time.
+     * Grain types whose oldest harvest is still within its shelf life are skipped without visiting a single silo,
+     * and within a grain type only silos holding harvests old enough to decay walk their stock.
      *
-     * @return The total amount of grain that decayed in the depot.
+     * @param currentYear The current year used to calculate the decay.
+     * @return The total amount of grain that decayed in the depot, at most {@code Integer.MAX_VALUE}.
      */
     public int decay(int currentYear) {
-        int totalDecayedAmount = 0;
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
-        while (iter.hasNext()){
-            totalDecayedAmount += iter.next().decay(currentYear);
+        long totalDecayedAmount = 0;
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            if (currentYear < this.nextDecayYearByGrainType[grainType.ordinal()]) {
+                continue;
+            }
+
+            // A silo that runs empty while decaying leaves the index, which does not disturb the walk over the following ids
+            BitSet assignedSilos = this.silosByGrainType.get(grainType);
+            int nextDecayYear = Integer.MAX_VALUE;
+            for (int id = assignedSilos.nextSetBit(0); id >= 0; id = assignedSilos.nextSetBit(id + 1)) {
+                Silo currSilo = this.silos.get(id);
+                if (currentYear >= currSilo.nextDecayYear()) {
+                    currSilo = mutableSilo(id);
+                    totalDecayedAmount += currSilo.decay(currentYear);
+                }
+                nextDecayYear = Math.min(nextDecayYear, currSilo.nextDecayYear());
+            }
+            this.nextDecayYearByGrainType[grainType.ordinal()] = nextDecayYear;
+        }
+        return saturatedInt(totalDecayedAmount);
+    }
+
+    /**
+     * Lowers the first year with decay of a grain type after harvests were stored in the given silo.
+     *
+     * @param silo The silo that received grain.
+     */
+    private void updateNextDecayYear(Silo silo) {
+        if (silo.getGrainType() != null) {
+            int ordinal = silo.getGrainType().ordinal();
+            this.nextDecayYearByGrainType[ordinal] = Math.min(this.nextDecayYearByGrainType[ordinal], silo.nextDecayYear());
         }
-        return totalDecayedAmount;
     }
 
 
@@ -305,37 +858,64 @@ public class Depot {
      * @return {@code true} if the total fill level of all silos equals or exceeds the total capacity of the storage system, {@code false} otherwise.
      */
     public boolean full() {
-        if (this.getTotalFillLevel() >= this.totalCapacity()) return true;
-        return false;
+        return this.getTotalFillLevelLong() >= this.totalCapacityLong();
     }
 
     /**
      * Calculates the total capacity of the depot by summing the capacities of all silos.
      *
-     * @return The total capacity of the storage system.
+     * @return The total capacity of the storage system, at most {@code Integer.MAX_VALUE}.
+     * @see #totalCapacityLong()
      */
     public int totalCapacity() {
-        int totalCapacity = 0;
-        LinkedList<Silo>.LinkedIterator<Silo> iter = silos.makeIterator();
-        while (iter.hasNext()){
-            totalCapacity += iter.next().getCapacity();
-        }
-        return totalCapacity;
+        return saturatedInt(totalCapacityLong());
+    }
+
+    /**
+     * Calculates the total capacity of the depot without limiting it to the int range.
+     *
+     * @return The total capacity of the storage system.
+     */
+    public long totalCapacityLong() {
+        assert aggregatesConsistent() : "Running totals of the depot are out of sync";
+        return this.totalCapacity;
     }
 
     /**
      * Retrieves the total amount of grain categorized by grain type.
      *
      * @return An array containing the total amount of grain for each grain type, indexed by the grain type constants defined in the {@code GameConfig} class.
+     * Amounts beyond the int range are reported as {@code Integer.MAX_VALUE}.
      */
     public int[] getBushelsCategorizedByGrainType() {
-        int[] result = new int[Game.GrainType.values().length];
-        for (Game.GrainType grainType : Game.GrainType.values()) {
-            result[grainType.ordinal()] = getFillLevel(grainType);
+        long[] bushels = getBushelsCategorizedByGrainTypeLong();
+        int[] result = new int[bushels.length];
+        for (int i = 0; i < bushels.length; i++) {
+            result[i] = saturatedInt(bushels[i]);
         }
         return result;
     }
 
+    /**
+     * Retrieves the total amount of grain categorized by grain type without limiting it to the int range.
+     *
+     * @return An array containing the total amount of grain for each grain type, indexed by the ordinal of the grain type.
+     */
+    public long[] getBushelsCategorizedByGrainTypeLong() {
+        assert aggregatesConsistent() : "Running totals of the depot are out of sync";
+        return this.fillLevelByGrainType.clone();
+    }
+
+
+    /**
+     * Creates a report of the silos of the depot. The report only takes a snapshot of the depot now,
+     * its rows are built and rendered when they are accessed.
+     *
+     * @return An immutable report of the current silos.
+     */
+    public DepotReport report() {
+        return new DepotReport(snapshot());
+    }
 
     /**
      * Returns a string representation of the depot, including information about each silo's grain type, fill level, capacity, and absolute amount of grain.
@@ -344,72 +924,130 @@ public class Depot {
      */
     @Override
     public String toString() {
+        // Rendered right away from the silos of the depot, so no snapshot is taken and nothing is copied on the next modification
+        return new DepotReport(new DepotSnapshot(this.silos, this.reserve)).toString();
+    }
 
 
-        // creating the local class
-        class DepotVisualizer {
-
-            private StringBuilder builder = new StringBuilder();
-            private DecimalFormat df = new DecimalFormat("0.00");
-
-            private int index = 0;
-
-            // adding information to a silo
-            public void appendSiloInfo(Silo silo) {
-
-                builder.append("Silo ").append(index + 1).append(": ");
-
-                String grainName = (silo.getGrainType() != null) ? silo.getGrainType().toString() : "EMPTY";
-                builder.append(grainName).append("\n");
-
-                int fillLevel = silo.getFillLevel();
-                int capacity = silo.getCapacity();
-
-                double fillPercentage = (double) fillLevel / capacity * 100;
-                int fillBarLength = 20;
-
-                int filledBars = (int) (fillPercentage / 100 * fillBarLength);
-                int emptyBars = fillBarLength - filledBars;
-
-                builder.append("Amount of Grain: ").append(fillLevel).append(" units\n");
-                builder.append("|");
-
-                for (int j = 0; j < filledBars; j++) {
-                    builder.append("=");
-                }
-
-                for (int j = 0; j < emptyBars; j++) {
-                    builder.append("-");
-                }
+    /**
+     * A cursor over the silos of the depot that exposes the state of the current silo as primitives.
+     * Reserved silos that were not materialized yet are visited after all other silos, as empty silos.
+     * Unlike the {@link Iterator}, moving the cursor does not allocate anything, so it is meant for aggregations over many silos.
+     * The cursor must not be used after the depot was modified.
+     * <pre>
+     * Depot.Cursor cursor = depot.cursor();
+     * while (cursor.advance()) {
+     *     total += cursor.fillLevel();
+     * }
+     * </pre>
+     */
+    public final class Cursor {
+        private final ChunkedList<Silo> silosToIterate;
+        // The ids of the silos holding the grain type of the cursor, null if the cursor visits all silos in their order
+        private final BitSet assignedSilos;
+        private boolean visitingEmptySilos;
+        private int index = -1;
+        private Silo current;
+        // The run of the reserve the cursor is in, and the silos of that run not visited yet
+        private int reserveRun = -1;
+        private int reserveRemaining;
+        private boolean visitingReserve;
+
+        private Cursor(ChunkedList<Silo> silosToIterate, BitSet assignedSilos) {
+            this.silosToIterate = silosToIterate;
+            this.assignedSilos = assignedSilos;
+        }
 
-                builder.append("| ").append(df.format(fillPercentage)).append("% filled\n");
-                builder.append("Capacity: ").append(capacity).append(" units\n\n");
+        /**
+         * Moves the cursor to the next silo.
+         *
+         * @return {@code true} if the cursor is positioned on a silo, {@code false} if all silos were visited.
+         */
+        public boolean advance() {
+            if (!visitingReserve && advanceSilos()) {
+                return true;
+            }
+            visitingReserve = true;
+            if (reserveRemaining == 0 && reserveRun + 1 < reserve.runs()) {
+                reserveRemaining = reserve.countOfRun(++reserveRun);
+            }
+            if (reserveRemaining == 0) {
+                reserveRun = reserve.runs(); // Past the last run
+                return false;
+            }
+            reserveRemaining--;
+            return true;
+        }
 
-                index++;
+        private boolean advanceSilos() {
+            if (assignedSilos == null) {
+                current = (index + 1 < silosToIterate.size()) ? silosToIterate.get(++index) : null;
+                return current != null;
             }
 
-            // make a visual representation of the Depot
-            public String visualize() {
-                //simply return a string representation of the builder
-                return builder.toString();
+            int next = (visitingEmptySilos ? emptySilos : assignedSilos).nextSetBit(index + 1);
+            if (next < 0 && !visitingEmptySilos) {
+                visitingEmptySilos = true;
+                next = emptySilos.nextSetBit(0);
             }
+            // Past the last id, so further calls do not start over
+            index = (next < 0) ? silosToIterate.size() : next;
+            current = (next < 0) ? null : silosToIterate.get(next);
+            return current != null;
         }
 
-        silos.sort();
-        //From exercise sheet 3
-        DepotVisualizer result = new DepotVisualizer();
+        /**
+         * @return The fill level of the current silo.
+         */
+        public int fillLevel() {
+            return onReservedSilo() ? 0 : currentSilo().getFillLevel();
+        }
+
+        /**
+         * @return The capacity of the current silo.
+         */
+        public int capacity() {
+            return onReservedSilo() ? reserve.capacityOfRun(reserveRun) : currentSilo().getCapacity();
+        }
 
-        //iteratively append information to silo
-        for (int i = 0; i < silos.size(); i++) {
+        /**
+         * @return The grain type of the current silo, or {@code null} if the silo is empty.
+         */
+        public Game.GrainType grainType() {
+            return onReservedSilo() ? null : currentSilo().getGrainType();
+        }
 
-            result.appendSiloInfo(silos.get(i));
+        private boolean onReservedSilo() {
+            return visitingReserve && reserveRun < reserve.runs();
         }
 
+        private Silo currentSilo() {
+            if (current == null) {
+                throw new NoSuchElementException("The cursor is not positioned on a silo");
+            }
+            return current;
+        }
+    }
 
-        // Rückgabe der String-Repräsentation des Depots
-        return result.visualize();
+    /**
+     * Creates a cursor over all silos of the depot, in the order they were added.
+     *
+     * @return A cursor positioned before the first silo.
+     */
+    public Cursor cursor() {
+        return new Cursor(this.silos, null);
     }
 
+    /**
+     * Creates a cursor over the silos that may take the given grain type: first the silos already holding it, then the empty silos.
+     * It visits the same silos as {@link #createIterator(Game.GrainType)}.
+     *
+     * @param grainType The grain type.
+     * @return A cursor positioned before the first silo.
+     */
+    public Cursor cursor(Game.GrainType grainType) {
+        return new Cursor(this.silos, this.silosByGrainType.get(grainType));
+    }
 
     public interface Iterator {
         /**
@@ -431,43 +1069,34 @@ public class Depot {
 
     private class DepotIterator implements Iterator {
 
-        private Game.GrainType iteratorGrainType;
-
-        //TODO: does it make sense to set it to -1 ?
-        private int currentIndex = -1;
-        private int temp;
+        // Visits the silos already holding the grain type of the iterator, then the empty silos
+        private final Cursor cursor;
+        private boolean hasNext;
 
         private DepotIterator(Game.GrainType grainTypeToIterate) {
-            iteratorGrainType = grainTypeToIterate;
+            cursor = cursor(grainTypeToIterate);
+            hasNext = cursor.advance();
         }
 
         @Override
         public boolean hasNext() {
-
-            for (int i = currentIndex + 1; i < silos.size(); i++) {
-                if (silos.get(i).getGrainType() == iteratorGrainType || silos.get(i).getFillLevel() == 0) {
-                    temp = i;
-                    return true;
-                }
-            }
-            return false;
+            return hasNext;
         }
 
         @Override
         public Silo.Status next() {
-            // if the next Silo is available and has the same GrainType
-            //TODO: do we really need the if case?
-            if (hasNext()) {
-                //TODO: return new Silo status
-                currentIndex = temp;
-                return silos.get(currentIndex).getStatus();
-            } else {
+            if (!hasNext) {
                 throw new NoSuchElementException("No next element there!");
             }
+            // Reserved silos have no Silo object, so the status is taken from the cursor
+            Silo.Status status = new Silo.Status(cursor.capacity(), cursor.fillLevel());
+            hasNext = cursor.advance();
+            return status;
         }
     }
 
     // public method to create an Iterator Object outside the Depot class,
+    // kept for compatibility, aggregations should use the allocation-free cursor instead
     public Iterator createIterator(Game.GrainType grainType) {
         return new DepotIterator(grainType);
     }
@@ -0,0 +1,114 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
+import java.io.IOException;
+
+/**
+ * Writes the rows of a {@link DepotReport} to an {@link Appendable}, e.g. a {@link java.io.Writer} or {@code System.out},
+ * one row at a time, so even a depot with many silos is never rendered into a single string.
+ * Large depots can be shown page by page or limited to their fullest silos.
+ */
+public final class DepotRenderer {
+    private static final int BAR_LENGTH = 20;
+    // BARS[k] is the fill bar of a silo with k of BAR_LENGTH segments filled
+    private static final String[] BARS = new String[BAR_LENGTH + 1];
+
+    static {
+        for (int filled = 0; filled <= BAR_LENGTH; filled++) {
+            BARS[filled] = "|" + "=".repeat(filled) + "-".repeat(BAR_LENGTH - filled) + "| ";
+        }
+    }
+
+    private final Appendable out;
+
+    /**
+     * Constructs a renderer writing to the given target.
+     *
+     * @param out The target the rows are written to.
+     */
+    public DepotRenderer(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes all rows of the report, ordered ascending by fill level.
+     *
+     * @param report The report to be rendered.
+     * @throws IOException If the target cannot be written to.
+     */
+    public void render(DepotReport report) throws IOException {
+        for (int row = 0; row < report.getSiloCount(); row++) {
+            renderRow(report, row);
+        }
+    }
+
+    /**
+     * Writes one page of rows of the report.
+     *
+     * @param report      The report to be rendered.
+     * @param page        The page to be written, starting at 0.
+     * @param rowsPerPage The number of rows per page.
+     * @throws IOException If the target cannot be written to.
+     */
+    public void renderPage(DepotReport report, int page, int rowsPerPage) throws IOException {
+        if (page < 0 || rowsPerPage <= 0) {
+            throw new IllegalArgumentException("The page must not be negative and a page must hold at least one row");
+        }
+        long first = (long) page * rowsPerPage;
+        for (long row = first; row < first + rowsPerPage && row < report.getSiloCount(); row++) {
+            renderRow(report, (int) row);
+        }
+    }
+
+    /**
+     * Writes the rows of the fullest silos, the fullest silo first.
+     * Only these rows are selected from the report, the remaining silos are not ordered.
+     *
+     * @param report The report to be rendered.
+     * @param n      The maximum number of rows to be written.
+     * @throws IOException If the target cannot be written to.
+     */
+    public void renderTop(DepotReport report, int n) throws IOException {
+        report.visitTop(n, this::renderRow);
+    }
+
+    /**
+     * Calculates the number of pages needed to render the whole report.
+     *
+     * @param report      The report to be rendered.
+     * @param rowsPerPage The number of rows per page.
+     * @return The number of pages.
+     */
+    public static int pageCount(DepotReport report, int rowsPerPage) {
+        if (rowsPerPage <= 0) {
+            throw new IllegalArgumentException("A page must hold at least one row");
+        }
+        return (int) (((long) report.getSiloCount() + rowsPerPage - 1) / rowsPerPage);
+    }
+
+    private void renderRow(DepotReport report, int row) throws IOException {
+        renderRow(row, report.getFillLevel(row), report.getCapacity(row), report.getGrainType(row));
+    }
+
+    private void renderRow(int row, int fillLevel, int capacity, Game.GrainType grainType) throws IOException {
+        out.append("Silo ").append(Integer.toString(row + 1)).append(": ");
+        out.append((grainType != null) ? grainType.toString() : "EMPTY").append('\n');
+        out.append("Amount of Grain: ").append(Integer.toString(fillLevel)).append(" units\n");
+
+        // Hundredths of a percent, rounded half up, computed without floating point
+        long hundredths = 0;
+        int filledBars = 0;
+        if (capacity > 0) {
+            hundredths = ((long) fillLevel * 20000 / capacity + 1) / 2;
+            filledBars = (int) Math.min(BAR_LENGTH, (long) fillLevel * BAR_LENGTH / capacity);
+        }
+        out.append(BARS[filledBars]);
+        out.append(Long.toString(hundredths / 100)).append('.');
+        if (hundredths % 100 < 10) {
+            out.append('0');
+        }
+        out.append(Long.toString(hundredths % 100)).append("% filled\n");
+        out.append("Capacity: ").append(Integer.toString(capacity)).append(" units\n\n");
+    }
+}
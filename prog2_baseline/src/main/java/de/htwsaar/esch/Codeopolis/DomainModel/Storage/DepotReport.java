@@ -0,0 +1,228 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable report of the silos of a {@link Depot}, created by {@link Depot#report()}.
+ * Creating the report only takes a snapshot of the depot. The rows are ordered by the fill level of the silos and are
+ * built when they are accessed for the first time, the text is rendered when {@link #toString()} is called for the first time.
+ * Neither changes the order of the silos in the depot.
+ * Reserved silos of the depot stay runs of a capacity and a count, their rows are derived from the runs.
+ */
+public final class DepotReport {
+    // Released as soon as the rows were built
+    private DepotSnapshot snapshot;
+    private final int siloCount;
+    // The rows of the reserved silos follow the rows of the empty materialized silos
+    private final SiloReserve reserve;
+    // The rows of the materialized silos only
+    private int[] fillLevels;
+    private int[] capacities;
+    private Game.GrainType[] grainTypes;
+    private int emptySilos;
+    private String rendered;
+
+    /**
+     * Receives the rows selected by {@link #visitTop(int, RowVisitor)}.
+     */
+    @FunctionalInterface
+    interface RowVisitor {
+        void visit(int row, int fillLevel, int capacity, Game.GrainType grainType) throws IOException;
+    }
+
+    DepotReport(DepotSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.siloCount = snapshot.size();
+        this.reserve = snapshot.getReserve();
+    }
+
+    /**
+     * @return The number of silos in the report.
+     */
+    public int getSiloCount() {
+        return this.siloCount;
+    }
+
+    /**
+     * @param row The row of the report, rows are ordered ascending by fill level.
+     * @return The fill level of the silo in the given row.
+     */
+    public int getFillLevel(int row) {
+        int materializedRow = materializedRow(row);
+        return (materializedRow < 0) ? 0 : this.fillLevels[materializedRow];
+    }
+
+    /**
+     * @param row The row of the report, rows are ordered ascending by fill level.
+     * @return The capacity of the silo in the given row.
+     */
+    public int getCapacity(int row) {
+        int materializedRow = materializedRow(row);
+        return (materializedRow < 0) ? this.reserve.capacityAt(row - this.emptySilos) : this.capacities[materializedRow];
+    }
+
+    /**
+     * @param row The row of the report, rows are ordered ascending by fill level.
+     * @return The grain type of the silo in the given row, or {@code null} if the silo is empty.
+     */
+    public Game.GrainType getGrainType(int row) {
+        int materializedRow = materializedRow(row);
+        return (materializedRow < 0) ? null : this.grainTypes[materializedRow];
+    }
+
+    /**
+     * Maps a row of the report to a row of the materialized silos.
+     *
+     * @param row The row of the report.
+     * @return The row of the materialized silo, or -1 if the row belongs to a reserved silo.
+     */
+    private int materializedRow(int row) {
+        Objects.checkIndex(row, this.siloCount);
+        buildRows();
+        if (row < this.emptySilos) {
+            return row;
+        }
+        return (row < this.emptySilos + this.reserve.size()) ? -1 : row - this.reserve.size();
+    }
+
+    /**
+     * Orders the rows like a stable sort of the silos by fill level: by fill level, then by position in the depot.
+     */
+    private static long key(int fillLevel, int position) {
+        return ((long) fillLevel << 32) | position;
+    }
+
+    /**
+     * Copies the state of the materialized silos into primitive rows, ordered by the natural ordering of the silos.
+     */
+    private void buildRows() {
+        if (this.snapshot == null) {
+            return;
+        }
+
+        int materialized = this.snapshot.materializedSize();
+        long[] keys = new long[materialized];
+        for (int i = 0; i < materialized; i++) {
+            keys[i] = key(this.snapshot.get(i).getFillLevel(), i);
+        }
+        Arrays.sort(keys);
+
+        this.fillLevels = new int[materialized];
+        this.capacities = new int[materialized];
+        this.grainTypes = new Game.GrainType[materialized];
+        for (int i = 0; i < materialized; i++) {
+            Silo silo = this.snapshot.get((int) keys[i]);
+            this.fillLevels[i] = silo.getFillLevel();
+            this.capacities[i] = silo.getCapacity();
+            this.grainTypes[i] = silo.getGrainType();
+            if (this.fillLevels[i] == 0) {
+                this.emptySilos++;
+            }
+        }
+        this.snapshot = null;
+    }
+
+    /**
+     * Hands the rows of the n fullest silos to the visitor, the fullest silo first.
+     * If the rows were not built yet, only those n rows are selected, the other rows are neither built nor ordered.
+     *
+     * @param n       The maximum number of rows.
+     * @param visitor Receives the rows.
+     * @throws IOException If the visitor cannot write a row.
+     */
+    void visitTop(int n, RowVisitor visitor) throws IOException {
+        int last = this.siloCount - Math.max(0, Math.min(n, this.siloCount));
+        int row = this.siloCount - 1;
+        if (this.snapshot == null) {
+            for (; row >= last; row--) {
+                visitor.visit(row, getFillLevel(row), getCapacity(row), getGrainType(row));
+            }
+            return;
+        }
+
+        // A min-heap keeps the largest keys of the materialized silos seen so far
+        int materialized = this.snapshot.materializedSize();
+        long[] heap = new long[Math.min(this.siloCount - last, materialized)];
+        for (int i = 0; i < materialized && heap.length > 0; i++) {
+            long key = key(this.snapshot.get(i).getFillLevel(), i);
+            if (i < heap.length) {
+                heap[i] = key;
+                if (i == heap.length - 1) {
+                    for (int parent = heap.length / 2 - 1; parent >= 0; parent--) {
+                        siftDown(heap, parent, heap.length);
+                    }
+                }
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, 0, heap.length);
+            }
+        }
+        // Moving the smallest key to the end repeatedly orders the heap descending
+        for (int end = heap.length - 1; end > 0; end--) {
+            long smallest = heap[0];
+            heap[0] = heap[end];
+            heap[end] = smallest;
+            siftDown(heap, 0, end);
+        }
+
+        // The reserved silos are empty and follow the empty materialized silos, so they come in between
+        int next = 0;
+        for (; next < heap.length && (heap[next] >>> 32) > 0 && row >= last; next++, row--) {
+            visitSilo(row, (int) heap[next], visitor);
+        }
+        for (int run = this.reserve.runs() - 1; run >= 0 && row >= last; run--) {
+            for (int i = 0; i < this.reserve.countOfRun(run) && row >= last; i++, row--) {
+                visitor.visit(row, 0, this.reserve.capacityOfRun(run), null);
+            }
+        }
+        for (; next < heap.length && row >= last; next++, row--) {
+            visitSilo(row, (int) heap[next], visitor);
+        }
+    }
+
+    private void visitSilo(int row, int position, RowVisitor visitor) throws IOException {
+        Silo silo = this.snapshot.get(position);
+        visitor.visit(row, silo.getFillLevel(), silo.getCapacity(), silo.getGrainType());
+    }
+
+    private static void siftDown(long[] heap, int parent, int size) {
+        while (2 * parent + 1 < size) {
+            int child = 2 * parent + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[parent] <= heap[child]) {
+                return;
+            }
+            long swap = heap[parent];
+            heap[parent] = heap[child];
+            heap[child] = swap;
+            parent = child;
+        }
+    }
+
+    /**
+     * Returns a string representation of the depot, including information about each silo's grain type, fill level, capacity, and absolute amount of grain.
+     * The text is rendered once and reused afterwards, use a {@link DepotRenderer} to write large depots without building a string.
+     *
+     * @return A string containing information about the depot, including each silo's grain type, fill level, capacity, and absolute amount of grain.
+     */
+    @Override
+    public String toString() {
+        if (this.rendered == null) {
+            StringBuilder builder = new StringBuilder();
+            try {
+                new DepotRenderer(builder).render(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // A StringBuilder never throws
+            }
+            this.rendered = builder.toString();
+        }
+        return this.rendered;
+    }
+}
@@ -0,0 +1,106 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
+
+import java.io.Serializable;
+
+/**
+ * An immutable snapshot of the silos of a {@link Depot}, created by {@link Depot#snapshot()}.
+ * The snapshot shares the silos with the depot and with earlier snapshots. The depot copies a silo before
+ * it modifies it, so the silos of a snapshot never change and only the silos touched since the last snapshot
+ * occupy additional memory.
+ */
+public final class DepotSnapshot implements Serializable {
+    private final ChunkedList<Silo> silos;
+    // The reserved silos follow the materialized silos
+    private final SiloReserve reserve;
+
+    /**
+     * Wraps the given silos and reserve, which must not change while the snapshot is used.
+     * The depot passes copies for a lasting snapshot and its own silos for a view that is read right away.
+     */
+    DepotSnapshot(ChunkedList<Silo> silos, SiloReserve reserve) {
+        this.silos = silos;
+        this.reserve = reserve;
+    }
+
+    /**
+     * @return The number of silos in the snapshot.
+     */
+    public int size() {
+        return this.silos.size() + this.reserve.size();
+    }
+
+    /**
+     * @return The number of silos in the snapshot that were materialized by the depot.
+     */
+    int materializedSize() {
+        return this.silos.size();
+    }
+
+    SiloReserve getReserve() {
+        return this.reserve;
+    }
+
+    /**
+     * Returns the shared silo at the given position, which must not be modified.
+     * Reserved silos have no silo object, they are read from {@link #getReserve()}.
+     *
+     * @param index The position of the silo, below {@link #materializedSize()}.
+     * @return The silo at the given position.
+     */
+    Silo get(int index) {
+        return this.silos.get(index);
+    }
+
+    /**
+     * Creates copies of the silos of the snapshot, in the order they were added to the depot.
+     *
+     * @return A list of copies of the silos that may be modified freely.
+     */
+    public LinkedList<Silo> getSilos() {
+        LinkedList<Silo> silosCopy = new LinkedList<>();
+        for (int i = 0; i < this.silos.size(); i++) {
+            silosCopy.addLast(new Silo(this.silos.get(i)));
+        }
+        for (int run = 0; run < this.reserve.runs(); run++) {
+            for (int i = 0; i < this.reserve.countOfRun(run); i++) {
+                silosCopy.addLast(new Silo(this.reserve.capacityOfRun(run)));
+            }
+        }
+        return silosCopy;
+    }
+
+    /**
+     * Two snapshots are equal if they hold the same silo instances and the same reserved silos, i.e. if no silo was modified between them.
+     *
+     * @param obj The reference object with which to compare.
+     * @return true if both snapshots share all their silos; false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        DepotSnapshot other = (DepotSnapshot) obj;
+        if (this.silos.size() != other.silos.size() || !this.reserve.equals(other.reserve)) {
+            return false;
+        }
+        for (int i = 0; i < this.silos.size(); i++) {
+            if (this.silos.get(i) != other.silos.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = this.reserve.hashCode();
+        for (int i = 0; i < this.silos.size(); i++) {
+            hash = 31 * hash + System.identityHashCode(this.silos.get(i));
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,218 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.DecayTable;
+import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.Harvest;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The HarvestLedger class records the stock of a silo as lots of grain, one lot per harvest year.
+ * The lots are kept in two parallel primitive arrays for the amounts and the years, ordered from the oldest to the
+ * newest year and used as a ring, so lots can be removed at the front and added at the back without moving the others.
+ * The grain type is not part of the ledger, it is held once by the owning silo.
+ * Storing, taking out and decaying grain never allocate, {@link Harvest} objects are only created on demand.
+ */
+class HarvestLedger implements Serializable {
+    private static final int INITIAL_LOTS = 4;
+
+    // Lot i is stored at index (first + i) & (years.length - 1) of both arrays
+    private int[] amounts;
+    private int[] years;
+    private int first;
+    private int lots;
+
+    /**
+     * Constructs an empty ledger.
+     */
+    HarvestLedger() {
+        this.amounts = new int[INITIAL_LOTS];
+        this.years = new int[INITIAL_LOTS];
+    }
+
+    /**
+     * Copy constructor for the HarvestLedger class.
+     *
+     * @param other The ledger to copy.
+     */
+    HarvestLedger(HarvestLedger other) {
+        this.amounts = other.amounts.clone();
+        this.years = other.years.clone();
+        this.first = other.first;
+        this.lots = other.lots;
+    }
+
+    /**
+     * Gets the number of lots, which is the number of distinct harvest years in the ledger.
+     *
+     * @return The number of lots.
+     */
+    int lots() {
+        return lots;
+    }
+
+    boolean isEmpty() {
+        return lots == 0;
+    }
+
+    /**
+     * Gets the year of the oldest lot.
+     *
+     * @return The oldest harvest year, or {@link Integer#MAX_VALUE} if the ledger is empty.
+     */
+    int oldestYear() {
+        return lots == 0 ? Integer.MAX_VALUE : years[first];
+    }
+
+    /**
+     * Gets the amount of grain of a harvest year.
+     *
+     * @param year The harvest year.
+     * @return The amount of grain of that year.
+     */
+    int amountOfYear(int year) {
+        // Recent years are asked for most often, so search from the back
+        for (int i = lots - 1; i >= 0; i--) {
+            int index = index(i);
+            if (years[index] == year) {
+                return amounts[index];
+            } else if (years[index] < year) {
+                break;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds grain of a harvest year, merging it into the lot of that year if there is one.
+     *
+     * @param year   The harvest year.
+     * @param amount The amount of grain, must be positive.
+     */
+    void add(int year, int amount) {
+        int position = lots;
+        while (position > 0 && years[index(position - 1)] >= year) {
+            position--;
+        }
+
+        if (position < lots && years[index(position)] == year) {
+            amounts[index(position)] += amount;
+            return;
+        }
+
+        ensureCapacity(lots + 1);
+        if (position == 0 && lots > 0) {
+            // A year older than all lots, open a slot in front
+            first = (first - 1) & (years.length - 1);
+        } else {
+            // Move the newer lots one slot back, usually there are none
+            for (int i = lots; i > position; i--) {
+                years[index(i)] = years[index(i - 1)];
+                amounts[index(i)] = amounts[index(i - 1)];
+            }
+        }
+        years[index(position)] = year;
+        amounts[index(position)] = amount;
+        lots++;
+    }
+
+    /**
+     * Takes out grain, oldest lots first. Lots that run empty are removed.
+     *
+     * @param amount The amount of grain to be taken out.
+     * @return The actual amount of grain taken out.
+     */
+    int takeOldest(int amount) {
+        int takenAmount = 0;
+        while (lots > 0 && amount > 0) {
+            int taken = Math.min(amount, amounts[first]);
+            amounts[first] -= taken;
+            amount -= taken;
+            takenAmount += taken;
+            if (amounts[first] == 0) {
+                first = (first + 1) & (years.length - 1);
+                lots--;
+            }
+        }
+        return takenAmount;
+    }
+
+    /**
+     * Lets every lot decay according to the decay table of the grain type. Lots that decay completely are removed.
+     *
+     * @param grainType   The grain type of the silo.
+     * @param currentYear The current year used to calculate the decay.
+     * @return The total amount of grain that decayed.
+     */
+    int decay(Game.GrainType grainType, int currentYear) {
+        DecayTable table = DecayTable.forGrainType(grainType);
+        int totalDecayedAmount = 0;
+        int kept = 0;
+        for (int i = 0; i < lots; i++) {
+            int index = index(i);
+            int decayedAmount = table.decayedAmount(amounts[index], years[index], currentYear);
+            totalDecayedAmount += decayedAmount;
+            if (amounts[index] > decayedAmount) {
+                int target = index(kept++);
+                years[target] = years[index];
+                amounts[target] = amounts[index] - decayedAmount;
+            }
+        }
+        lots = kept;
+        return totalDecayedAmount;
+    }
+
+    /**
+     * Removes all lots.
+     */
+    void clear() {
+        first = 0;
+        lots = 0;
+    }
+
+    /**
+     * Creates a harvest for every lot, oldest first.
+     * The harvests are copies, changing them does not change the ledger.
+     *
+     * @param grainType The grain type of the silo.
+     * @return The harvests of all lots.
+     */
+    LinkedList<Harvest> toHarvests(Game.GrainType grainType) {
+        LinkedList<Harvest> harvests = new LinkedList<>();
+        for (int i = 0; i < lots; i++) {
+            harvests.addLast(Harvest.createHarvest(grainType, amounts[index(i)], years[index(i)]));
+        }
+        return harvests;
+    }
+
+    private int index(int lot) {
+        return (first + lot) & (years.length - 1);
+    }
+
+    private void ensureCapacity(int requiredLots) {
+        if (requiredLots <= years.length) {
+            return;
+        }
+        int[] newAmounts = new int[years.length * 2];
+        int[] newYears = new int[years.length * 2];
+        for (int i = 0; i < lots; i++) {
+            newAmounts[i] = amounts[index(i)];
+            newYears[i] = years[index(i)];
+        }
+        amounts = newAmounts;
+        years = newYears;
+        first = 0;
+    }
+
+    @Override
+    public String toString() {
+        int[] orderedYears = new int[lots];
+        int[] orderedAmounts = new int[lots];
+        for (int i = 0; i < lots; i++) {
+            orderedYears[i] = years[index(i)];
+            orderedAmounts[i] = amounts[index(i)];
+        }
+        return "HarvestLedger{years=" + Arrays.toString(orderedYears) + ", amounts=" + Arrays.toString(orderedAmounts) + '}';
+    }
+}
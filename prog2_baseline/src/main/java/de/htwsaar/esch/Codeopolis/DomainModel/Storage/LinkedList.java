@@ -1,21 +1,37 @@
 package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
 
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 
+/**
+ * A doubly-linked list that keeps track of its first and last node.
+ * Appending, removing at either end and removing through an iterator are constant time operations.
+ * Iterators are fail-fast: a structural modification of the list that was not made through the
+ * iterator itself causes the iterator to throw a {@link ConcurrentModificationException}.
+ *
+ * @param <T> The type of the elements held in this list.
+ */
 public class LinkedList<T extends Comparable> {
     // First Elm. of the List
     private Node<T> head;
+    // Last Elm. of the List
+    private Node<T> tail;
     private int size;
+    // Number of structural modifications, used by the iterators to detect concurrent modifications
+    private int modCount;
 
     // Inner class Node
     public static class Node<T> {
         T content;
         Node<T> next;
+        Node<T> prev;
 
         public Node(T content) {
             this.content = content;
             this.next = null;
+            this.prev = null;
         }
     }
 
@@ -28,27 +44,39 @@ public class LinkedList<T extends Comparable> {
         boolean hasNext();
 
         /**
-         * Returns the next {@link Silo.Status} object in the iteration.
+         * Returns the next object in the iteration.
          * This method should only be called if {@code hasNext()} returns {@code true}.
          *
-         * @return The next {@link Silo.Status} object.
+         * @return The next object.
          * @throws NoSuchElementException if no more elements are available.
          */
         T next();
 
+        /**
+         * Removes the element that was returned by the last call to {@code next()}.
+         *
+         * @throws IllegalStateException if {@code next()} has not been called or {@code remove()} has already been called after the last call to {@code next()}.
+         */
         void remove();
 
     }
 
-    public class LinkedIterator<T> implements Iterator{
+    /**
+     * Iterator over the nodes of this list.
+     * The type parameter only exists to keep the {@code LinkedList<X>.LinkedIterator<X>} declarations of the callers working,
+     * it always equals the element type of the list.
+     *
+     * @param <E> The element type of the list.
+     */
+    public class LinkedIterator<E> implements Iterator<E> {
         private Node<T> current;
-        private Node<T> previous;
-        private Node<T> beforePrevious; // Keeps track of the node before 'previous' to update the link when removing
+        private Node<T> lastReturned;
+        private int expectedModCount;
 
-        public LinkedIterator(Node<T> head) {
+        private LinkedIterator(Node<T> head) {
             this.current = head;
-            this.previous = null;
-            this.beforePrevious = null;
+            this.lastReturned = null;
+            this.expectedModCount = modCount;
         }
 
         @Override
@@ -57,33 +85,34 @@ public class LinkedList<T extends Comparable> {
         }
 
         @Override
-        public T next() {
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
 
             // Move the pointers forward
-            T content = current.content;
-            beforePrevious = previous;
-            previous = current;
+            lastReturned = current;
             current = current.next;
-            return content;
+            return (E) lastReturned.content;
         }
 
         @Override
         public void remove() {
-            if (previous == null) {
+            if (lastReturned == null) {
                 throw new IllegalStateException("next() has not been called or remove() already called after the last next()");
             }
+            checkForComodification();
 
-            if (beforePrevious == null) {
-                // If `previous` was the first node
-                // Update the head of the list to skip the removed node
-                previous = null; // Reset previous to avoid illegal state on subsequent calls
-            } else {
-                // Update the link to skip the removed node
-                beforePrevious.next = current;
-                previous = null; // Reset previous to avoid illegal state on subsequent calls
+            unlink(lastReturned);
+            lastReturned = null; // Reset to avoid illegal state on subsequent calls
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
             }
         }
     }
@@ -92,27 +121,62 @@ public class LinkedList<T extends Comparable> {
     //Constructor initialize with empty list head = null
     public LinkedList() {
         this.head = null;
+        this.tail = null;
         this.size = 0;
+        this.modCount = 0;
     }
 
+    /**
+     * Appends the specified element to the end of the list.
+     *
+     * @param content The element to be appended.
+     */
     public void addLast(T content) {
         Node<T> node = new Node<>(content);
-        if (this.head == null) {
+        if (this.tail == null) {
             this.head = node;
         } else {
-            Node<T> temp = this.head;
-            while (temp.next != null) {
-                temp = temp.next;
-            }
-            temp.next = node;
+            node.prev = this.tail;
+            this.tail.next = node;
+        }
+        this.tail = node;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Inserts the specified element at the beginning of the list.
+     *
+     * @param content The element to be inserted.
+     */
+    public void addFirst(T content) {
+        Node<T> node = new Node<>(content);
+        if (this.head == null) {
+            this.tail = node;
+        } else {
+            node.next = this.head;
+            this.head.prev = node;
         }
+        this.head = node;
         size++;
+        modCount++;
     }
 
+    /**
+     * Removes the first element of the list. Does nothing if the list is empty.
+     */
     public void removeFirst() {
         if (this.head != null) {
-            this.head = this.head.next;
-            size--;
+            unlink(this.head);
+        }
+    }
+
+    /**
+     * Removes the last element of the list. Does nothing if the list is empty.
+     */
+    public void removeLast() {
+        if (this.tail != null) {
+            unlink(this.tail);
         }
     }
 
@@ -125,59 +189,110 @@ public class LinkedList<T extends Comparable> {
     }
 
     public T get(int index) {
-        if (index < 0 || index >= this.size) {
-            throw new IndexOutOfBoundsException();
-        } else {
-            Node<T> temp = this.head;
-            for (int i = 0; i < index; i++) {
-                temp = temp.next;
-            }
-            return temp.content;
-        }
+        return node(index).content;
     }
 
     public T set(T content, int index) {
-        if (index < 0 || index >= this.size) {
-            throw new IndexOutOfBoundsException();
-        } else {
-            if (index == 0) {
-                T result = head.content;
-                head.content = content;
-                return result;
-            }
-            Node<T> temp = this.head;
-            for (int i = 0; i < index; i++) {
-                temp = temp.next;
-            }
-            T result = temp.content;
-            temp.content = content;
-            return result;
-        }
+        Node<T> node = node(index);
+        T result = node.content;
+        node.content = content;
+        return result;
     }
 
     public void clear() {
         this.head = null;
+        this.tail = null;
+        this.size = 0;
+        modCount++;
+    }
+
+    /**
+     * Moves all elements of the other list to the end of this list in constant time.
+     * The nodes are relinked, not copied, so the other list is empty afterwards.
+     *
+     * @param other The list whose elements are moved, must not be this list.
+     */
+    public void splice(LinkedList<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("A list cannot be spliced into itself");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+
+        if (this.tail == null) {
+            this.head = other.head;
+        } else {
+            this.tail.next = other.head;
+            other.head.prev = this.tail;
+        }
+        this.tail = other.tail;
+        this.size += other.size;
+        modCount++;
+
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+        other.modCount++;
     }
 
     public T remove(int index) {
+        Node<T> node = node(index);
+        unlink(node);
+        return node.content;
+    }
+
+    /**
+     * Returns the node at the specified position, walking from whichever end of the list is closer.
+     *
+     * @param index The position of the node.
+     * @return The node at the specified position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    private Node<T> node(int index) {
         if (index < 0 || index >= this.size) {
             throw new IndexOutOfBoundsException();
-        } else {
-            if (index == 0) {
-                T result = head.content;
-                size--;
-                head = head.next;
-                return result;
-            }
-            Node<T> temp = this.head;
-            for (int i = 0; i < index - 1; i++) {
+        }
+        Node<T> temp;
+        if (index < (this.size >> 1)) {
+            temp = this.head;
+            for (int i = 0; i < index; i++) {
                 temp = temp.next;
             }
-            T result = temp.next.content;
-            temp.next = temp.next.next;
-            this.size--;
-            return result;
+        } else {
+            temp = this.tail;
+            for (int i = this.size - 1; i > index; i--) {
+                temp = temp.prev;
+            }
         }
+        return temp;
+    }
+
+    /**
+     * Unlinks the given node from the list in constant time.
+     *
+     * @param node The node to be removed, must be part of this list.
+     */
+    private void unlink(Node<T> node) {
+        Node<T> prev = node.prev;
+        Node<T> next = node.next;
+
+        if (prev == null) {
+            this.head = next;
+        } else {
+            prev.next = next;
+            node.prev = null;
+        }
+
+        if (next == null) {
+            this.tail = prev;
+        } else {
+            next.prev = prev;
+            node.next = null;
+        }
+
+        size--;
+        modCount++;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -207,56 +322,93 @@ public class LinkedList<T extends Comparable> {
         return a;
     }
 
-    public LinkedIterator makeIterator() {
-        return new LinkedIterator(this.head);
+    public LinkedIterator<T> makeIterator() {
+        return new LinkedIterator<>(this.head);
     }
 
+    /**
+     * Sorts the list according to the natural ordering of its elements.
+     *
+     * @see #sort(Comparator)
+     */
+    @SuppressWarnings("unchecked")
     public void sort() {
-        if (size > 1) {
-            boolean wasChanged;
-
-            do {
-                Node<T> current = head;
-                Node<T> previous = null;
-                Node<T> next = current.next;
-                wasChanged = false;
-
-                while (next != null) {
-
-                    // compare if coompareTo yields 1 which means that the current is greater than the next
-                    if (current.content.compareTo(next.content) > 0) {
-                        wasChanged = true;
-
-                        if (previous != null) {
-                            Node<T> sig = next.next;
+        sort((a, b) -> a.compareTo(b));
+    }
 
-                            previous.next = next;
-                            next.next = current;
-                            current.next = sig;
-                        } else {
-                            Node<T> sig = next.next;
+    /**
+     * Sorts the list with a bottom-up merge sort in O(n log n).
+     * The sort is stable and relinks the existing nodes, so no element is copied and no additional memory is needed.
+     *
+     * @param comparator The comparator that determines the order of the elements.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        if (size < 2) {
+            return;
+        }
 
-                            head = next;
-                            next.next = current;
-                            current.next = sig;
-                        }
+        Node<T> list = this.head;
+        int runLength = 1;
+        while (true) {
+            Node<T> left = list;
+            Node<T> last = null;
+            int merges = 0;
+            list = null;
+
+            // merge neighbouring runs of length runLength
+            while (left != null) {
+                merges++;
+                Node<T> right = left;
+                int leftSize = 0;
+                while (leftSize < runLength && right != null) {
+                    leftSize++;
+                    right = right.next;
+                }
+                int rightSize = runLength;
+
+                while (leftSize > 0 || (rightSize > 0 && right != null)) {
+                    Node<T> next;
+                    // take from the left run on ties to keep the sort stable
+                    if (leftSize == 0) {
+                        next = right;
+                        right = right.next;
+                        rightSize--;
+                    } else if (rightSize == 0 || right == null || comparator.compare(left.content, right.content) <= 0) {
+                        next = left;
+                        left = left.next;
+                        leftSize--;
+                    } else {
+                        next = right;
+                        right = right.next;
+                        rightSize--;
+                    }
 
-                        previous = next;
-                        next = current.next;
+                    if (last == null) {
+                        list = next;
                     } else {
-                        previous = current;
-                        current = next;
-                        next = next.next;
+                        last.next = next;
                     }
+                    next.prev = last;
+                    last = next;
                 }
-            } while (wasChanged);
+                left = right;
+            }
+            last.next = null;
+
+            if (merges <= 1) {
+                this.head = list;
+                this.tail = last;
+                break;
+            }
+            runLength *= 2;
         }
+        modCount++;
     }
 
-    public LinkedList filter(Predicate<T> predicate){
+    public LinkedList<T> filter(Predicate<T> predicate){
 
         // create a new list to save elements that have been filtered
-        LinkedList myList = new LinkedList();
+        LinkedList<T> myList = new LinkedList<>();
 
         // create an iterator to iterate over the list
         LinkedIterator<T> iterator = makeIterator();
@@ -3,15 +3,70 @@ package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
 import de.htwsaar.esch.Codeopolis.DomainModel.Game;
 import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.*;
 import java.io.Serializable;
+import java.util.Comparator;
 
 /**
  * The Silo class represents a storage unit for a specific type of grain.
  */
 public class Silo implements Serializable,Comparable<Silo> {
-    private LinkedList<Harvest> stock;
+    // The stock as one lot of grain per harvest year, the grain type of the lots is the grain type of the silo
+    private HarvestLedger ledger;
     private final int capacity;
     private int fillLevel;
-    private int stockIndex = -1;
+    // The grain type of the stored harvests, null as long as the silo is empty
+    private Game.GrainType grainType;
+    // The owner of the silo that is informed about changes of the grain type assignment
+    private transient Listener listener;
+    // The position of the silo within its depot, maintained by the depot
+    transient int id;
+    // The snapshot epoch of the depot in which the silo was created, a silo of an older epoch may be shared with a snapshot
+    transient int epoch;
+
+    /**
+     * Callback interface for the owner of a silo, e.g. a {@link Depot}, that keeps track of which silos hold which grain type
+     * and how much grain is stored in them.
+     */
+    interface Listener {
+        /**
+         * Called after an empty silo received its first harvest.
+         *
+         * @param silo      The silo that was assigned to a grain type.
+         * @param grainType The grain type now stored in the silo.
+         */
+        void grainTypeAssigned(Silo silo, Game.GrainType grainType);
+
+        /**
+         * Called after the last bushel of a silo was removed.
+         *
+         * @param silo              The silo that is empty now.
+         * @param previousGrainType The grain type the silo held before it was emptied.
+         */
+        void siloEmptied(Silo silo, Game.GrainType previousGrainType);
+
+        /**
+         * Called after the fill level of a silo changed.
+         *
+         * @param silo      The silo whose fill level changed.
+         * @param grainType The grain type of the bushels that were added or removed.
+         * @param delta     The change of the fill level, negative if bushels were removed.
+         */
+        void fillLevelChanged(Silo silo, Game.GrainType grainType, int delta);
+    }
+
+    /**
+     * Orders silos ascending by their fill level, which is also the natural ordering of silos.
+     */
+    public static final Comparator<Silo> BY_FILL_LEVEL = Comparator.comparingInt(Silo::getFillLevel);
+
+    /**
+     * Orders silos ascending by the capacity they have left.
+     */
+    public static final Comparator<Silo> BY_FREE_CAPACITY = Comparator.comparingInt(silo -> silo.getCapacity() - silo.getFillLevel());
+
+    /**
+     * Orders silos by the grain type they hold, empty silos come last.
+     */
+    public static final Comparator<Silo> BY_GRAIN_TYPE = Comparator.comparing(Silo::getGrainType, Comparator.nullsLast(Comparator.naturalOrder()));
 
     @Override
     public int compareTo(Silo otherSilo) {
@@ -26,13 +81,13 @@ public class Silo implements Serializable,Comparable<Silo> {
 
     }
 
-    public class Status {
+    public static class Status {
         private final int capacity;
         private final int fillLevel;
 
-        private Status() {
-            this.capacity = Silo.this.capacity;
-            this.fillLevel = Silo.this.fillLevel;
+        Status(int capacity, int fillLevel) {
+            this.capacity = capacity;
+            this.fillLevel = fillLevel;
         }
 
         public int getCapacity() {
@@ -51,7 +106,7 @@ public class Silo implements Serializable,Comparable<Silo> {
      */
     public Silo(int capacity) {
         this.capacity = capacity;
-        this.stock = new LinkedList<>();
+        this.ledger = new HarvestLedger();
         this.fillLevel = 0;
     }
 
@@ -66,26 +121,27 @@ public class Silo implements Serializable,Comparable<Silo> {
     public Silo(Silo other) {
         this.capacity = other.capacity;
         this.fillLevel = other.fillLevel;
-        this.stockIndex = other.stockIndex;
-        this.stock = new LinkedList<>();
-        LinkedList<Harvest>.LinkedIterator<Harvest> iter = other.stock.makeIterator();
-        while(iter.hasNext()){
-            this.stock.addLast(iter.next());
-        }
+        this.grainType = other.grainType;
+        this.ledger = new HarvestLedger(other.ledger);
     }
 
     /**
      * Stores a harvest in the silo if there is available capacity.
+     * The grain is booked into the lot of its harvest year, the harvest object itself is not kept by the silo.
      *
      * @param harvest The harvest to be stored in the silo.
-     * @return The amount of grain that could not be stored due to capacity limitations.
+     * @return The amount of grain that could not be stored due to capacity limitations, or {@code null} if everything was stored.
      */
     public Harvest store(Harvest harvest) {
         // Check if the grain type matches the existing grain in the silo
-        if (fillLevel > 0 && stock.get(0).getGrainType() != harvest.getGrainType()) {
+        if (fillLevel > 0 && this.grainType != harvest.getGrainType()) {
             throw new IllegalArgumentException("The grain type of the given Harvest does not match the grain type of the silo");
         }
 
+        if (harvest.getAmount() == 0) {
+            return null; // Nothing to store
+        }
+
         // Check if there is enough space in the silo
         if (fillLevel >= capacity) {
             return harvest; // The silo is already full, cannot be stored
@@ -94,17 +150,18 @@ public class Silo implements Serializable,Comparable<Silo> {
         // Check if the entire harvest can be stored
         int remainingCapacity = this.capacity - this.fillLevel;
         if(harvest.getAmount() <= remainingCapacity) {
-            this.stockIndex++;
-            this.stock.addLast(harvest);
-            this.fillLevel += harvest.getAmount();
+            int storedAmount = harvest.getAmount();
+            this.fillLevel += storedAmount;
+            this.ledger.add(harvest.getYear(), storedAmount);
+            fillLevelChanged(harvest.getGrainType(), storedAmount);
             return null;
         }
         else {
-            // Split the harvest and store the remaining amount
-            Harvest remainingHarvest = harvest.split(remainingCapacity);
-            this.stockIndex++;
-            this.stock.addLast(remainingHarvest); // Store the remaining harvest in the current depot
-            this.fillLevel += remainingHarvest.getAmount();
+            // Store as much as fits and leave the surplus in the harvest
+            harvest.remove(remainingCapacity);
+            this.fillLevel += remainingCapacity;
+            this.ledger.add(harvest.getYear(), remainingCapacity);
+            fillLevelChanged(harvest.getGrainType(), remainingCapacity);
             return harvest; // Return the surplus amount
         }
     }
@@ -113,56 +170,55 @@ public class Silo implements Serializable,Comparable<Silo> {
     /**
      * Empties the silo by removing all stored harvests and returning them.
      *
-     * @return An array containing all the removed harvests from the silo.
-     *         If the silo is empty, an empty array is returned.
+     * @return A list containing the removed harvest of every year, oldest first, or {@code null} if the silo is empty.
      */
     public LinkedList<Harvest> emptySilo() {
-        if (this.stock.isEmpty()) {
+        if (this.ledger.isEmpty()) {
             return null;
         }
         else {
-            LinkedList<Harvest> removedHarvests = new LinkedList<Harvest>();
-
-            LinkedList<Harvest>.LinkedIterator<Harvest> iter = this.stock.makeIterator();
-            int i = 0;
-            while (iter.hasNext()) {
-                removedHarvests.addLast(iter.next());
-            }
-            this.stock.clear();
-            stockIndex = -1;
+            LinkedList<Harvest> removedHarvests = this.ledger.toHarvests(this.grainType);
+            this.ledger.clear();
+            int removedAmount = fillLevel;
             fillLevel = 0;
+            fillLevelChanged(this.grainType, -removedAmount);
             return removedHarvests;
         }
     }
 
     /**
-     * Takes out a specified amount of grain from the silo.
+     * Takes out a specified amount of grain from the silo, oldest harvests first.
      *
      * @param amount The amount of grain to be taken out.
      * @return The actual amount of grain taken out from the silo.
      */
     public int takeOut(int amount) {
-        int takenAmount = 0;
-        LinkedList<Harvest>.LinkedIterator<Harvest> iter = this.stock.makeIterator();
-        int index = 0;
-
-        while (iter.hasNext() && amount > 0) {
-            Harvest harvest = iter.next();
-            int taken = harvest.remove(amount);
-            amount -= taken;
-            takenAmount += taken;
-
-            if (harvest.getAmount() <= 0) {
-                iter.remove();  // Use iterator's remove method to safely remove elements
-            } else {
-                index++;  // Increment index only if not removing
-            }
-        }
-
+        int takenAmount = this.ledger.takeOldest(amount);
         this.fillLevel -= takenAmount;
+        fillLevelChanged(this.grainType, -takenAmount);
         return takenAmount;
     }
 
+    /**
+     * Gets the amount of grain of a given harvest year stored in the silo.
+     *
+     * @param year The harvest year.
+     * @return The amount of grain of that year.
+     */
+    public int getAmountOfYear(int year) {
+        return this.ledger.amountOfYear(year);
+    }
+
+    /**
+     * Creates a harvest for every harvest year stored in the silo, oldest first.
+     * The harvests are copies, changing them does not change the silo.
+     *
+     * @return A list of the stored harvests.
+     */
+    public LinkedList<Harvest> getHarvests() {
+        return this.ledger.toHarvests(this.grainType);
+    }
+
     /**
      * Gets the current fill level of the silo.
      *
@@ -187,48 +243,89 @@ public class Silo implements Serializable,Comparable<Silo> {
      * @return A string representation of the grain type.
      */
     public Game.GrainType getGrainType() {
-        // Assuming each silo stores only one type of grain, we can retrieve the grain type from the first stored harvest
-        if (fillLevel > 0 && !this.stock.isEmpty()) {
-            return stock.get(0).getGrainType();
+        return this.grainType;
+    }
+
+    /**
+     * Keeps the grain type of the silo in line with its fill level and informs the listener about the change.
+     * An empty silo has no grain type, a filled silo keeps the type of its first harvest.
+     *
+     * @param changedGrainType The grain type of the bushels that were added or removed.
+     * @param delta            The change of the fill level.
+     */
+    private void fillLevelChanged(Game.GrainType changedGrainType, int delta) {
+        if (this.fillLevel > 0 && this.grainType == null) {
+            this.grainType = changedGrainType;
+            if (this.listener != null) {
+                this.listener.grainTypeAssigned(this, changedGrainType);
+            }
+        } else if (this.fillLevel == 0 && this.grainType != null) {
+            this.grainType = null;
+            if (this.listener != null) {
+                this.listener.siloEmptied(this, changedGrainType);
+            }
         }
-        else {
-            return null;
+        if (delta != 0 && this.listener != null) {
+            this.listener.fillLevelChanged(this, changedGrainType, delta);
         }
     }
 
+    /**
+     * Registers the owner of the silo that is informed about changes of the grain type assignment.
+     *
+     * @param listener The listener, or {@code null} to remove the current one.
+     */
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
     /**
      * Retrieves the number of harvests currently stored in the silo.
      *
      * @return The number of harvests stored in the silo.
      */
     public int getHarvestCount() {
-        return this.stock.size();
+        return this.ledger.lots();
     }
 
     /**
      * Simulates the decay of grain in all harvests stored in the silo over time.
+     * As long as even the oldest harvest is within its shelf life, the stock is not visited at all.
+     * Otherwise every harvest year decays as a single lot, so the cost depends on the number of distinct years only.
      *
      * @param currentYear The current year used to calculate the decay.
      * @return The total amount of grain that decayed in all harvests in the silo.
      */
     public int decay(int currentYear) {
-        int totalDecayedAmount = 0;
-        LinkedList<Harvest>.LinkedIterator<Harvest> iter = this.stock.makeIterator();
-        while (iter.hasNext()) {
-            Harvest currentHarvest = iter.next();
-            totalDecayedAmount += currentHarvest.decay(currentYear);
+        if (currentYear < nextDecayYear()) {
+            return 0;
         }
+
+        int totalDecayedAmount = this.ledger.decay(this.grainType, currentYear);
         fillLevel -= totalDecayedAmount;
+        fillLevelChanged(this.grainType, -totalDecayedAmount);
         return totalDecayedAmount;
     }
 
+    /**
+     * Gets the first year in which any harvest of the silo decays.
+     *
+     * @return The first year with decay, or {@link Integer#MAX_VALUE} if the silo is empty.
+     */
+    int nextDecayYear() {
+        if (this.grainType == null) {
+            return Integer.MAX_VALUE;
+        }
+        return DecayTable.forGrainType(this.grainType).firstDecayYear(this.ledger.oldestYear());
+    }
+
     /**
      * Retrieves the status of the silo, including its capacity and fill level.
      *
      * @return A SiloStatus object representing the current state of the silo.
      */
     public Status getStatus() {
-        return new Status();
+        return new Status(this.capacity, this.fillLevel);
     }
 }
 
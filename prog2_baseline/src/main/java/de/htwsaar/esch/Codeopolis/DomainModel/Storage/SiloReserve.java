@@ -0,0 +1,158 @@
+package de.htwsaar.esch.Codeopolis.DomainModel.Storage;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Empty silos of a depot that were added by an expansion but have not been used yet.
+ * Identical silos are kept as one run of a capacity and a count instead of one object per silo,
+ * so adding thousands of silos takes constant time and memory. Runs are ordered ascending by capacity.
+ */
+final class SiloReserve implements Serializable {
+    private int[] capacities;
+    private int[] counts;
+    private int runs;
+    private int size;
+    private long capacity;
+
+    SiloReserve() {
+        this.capacities = new int[2];
+        this.counts = new int[2];
+    }
+
+    /**
+     * Creates a copy of the other reserve.
+     *
+     * @param other The reserve to be copied.
+     */
+    SiloReserve(SiloReserve other) {
+        this.capacities = Arrays.copyOf(other.capacities, Math.max(other.runs, 1));
+        this.counts = Arrays.copyOf(other.counts, Math.max(other.runs, 1));
+        this.runs = other.runs;
+        this.size = other.size;
+        this.capacity = other.capacity;
+    }
+
+    /**
+     * @return The number of reserved silos.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The total capacity of the reserved silos.
+     */
+    long capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return The number of distinct capacities in the reserve.
+     */
+    int runs() {
+        return this.runs;
+    }
+
+    int capacityOfRun(int run) {
+        return this.capacities[run];
+    }
+
+    int countOfRun(int run) {
+        return this.counts[run];
+    }
+
+    /**
+     * Adds empty silos to the reserve.
+     *
+     * @param siloCapacity  The capacity of each silo.
+     * @param numberOfSilos The number of silos to be added.
+     */
+    void add(int siloCapacity, int numberOfSilos) {
+        int run = Arrays.binarySearch(this.capacities, 0, this.runs, siloCapacity);
+        if (run < 0) {
+            run = -run - 1;
+            if (this.runs == this.capacities.length) {
+                this.capacities = Arrays.copyOf(this.capacities, this.runs * 2);
+                this.counts = Arrays.copyOf(this.counts, this.runs * 2);
+            }
+            System.arraycopy(this.capacities, run, this.capacities, run + 1, this.runs - run);
+            System.arraycopy(this.counts, run, this.counts, run + 1, this.runs - run);
+            this.capacities[run] = siloCapacity;
+            this.counts[run] = 0;
+            this.runs++;
+        }
+        this.counts[run] += numberOfSilos;
+        this.size += numberOfSilos;
+        this.capacity += (long) siloCapacity * numberOfSilos;
+    }
+
+    /**
+     * Checks whether the reserve holds a silo of the given capacity.
+     *
+     * @param siloCapacity The capacity of the silo.
+     * @return {@code true} if such a silo is reserved.
+     */
+    boolean contains(int siloCapacity) {
+        return Arrays.binarySearch(this.capacities, 0, this.runs, siloCapacity) >= 0;
+    }
+
+    /**
+     * Removes one silo of the given capacity from the reserve.
+     *
+     * @param siloCapacity The capacity of the silo, must be reserved.
+     */
+    void remove(int siloCapacity) {
+        int run = Arrays.binarySearch(this.capacities, 0, this.runs, siloCapacity);
+        if (run < 0) {
+            throw new IllegalStateException("No silo with a capacity of " + siloCapacity + " is reserved");
+        }
+        this.size--;
+        this.capacity -= siloCapacity;
+        if (--this.counts[run] == 0) {
+            System.arraycopy(this.capacities, run + 1, this.capacities, run, this.runs - run - 1);
+            System.arraycopy(this.counts, run + 1, this.counts, run, this.runs - run - 1);
+            this.runs--;
+        }
+    }
+
+    /**
+     * Returns the capacity of a reserved silo, silos are ordered ascending by capacity.
+     *
+     * @param index The position of the silo within the reserve.
+     * @return The capacity of the silo.
+     */
+    int capacityAt(int index) {
+        for (int run = 0; run < this.runs; run++) {
+            if (index < this.counts[run]) {
+                return this.capacities[run];
+            }
+            index -= this.counts[run];
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SiloReserve other = (SiloReserve) obj;
+        return this.runs == other.runs
+                && Arrays.equals(this.capacities, 0, this.runs, other.capacities, 0, other.runs)
+                && Arrays.equals(this.counts, 0, this.runs, other.counts, 0, other.runs);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int run = 0; run < this.runs; run++) {
+            hash = 31 * hash + this.capacities[run];
+            hash = 31 * hash + this.counts[run];
+        }
+        return hash;
+    }
+}
@@ -2,6 +2,8 @@ package de.htwsaar.esch.Codeopolis.DomainModel;
 
 import java.util.Arrays;
 
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.DepotReport;
+
 /**
  * The `TurnResult` class represents the result of a game turn.
  * It encapsulates various information about the state of the game after a turn.
@@ -12,15 +14,15 @@ public class TurnResult {
 	private int newResidents; // Number of new residents in the city after the turn
 	private int[] bushelsHarvested; // Amount of bushels harvested during the turn
 	private int residents; // Current number of residents in^ the city
-	private int[] bushels; // Current number of bushels in the city
+	private long[] bushels; // Current number of bushels in the city
 	private int starved; // Number of residents who starved during the turn
 	private int acres; // Current number of acres owned by the city
 	private int ateByRates; // Number of bushels eaten by rats during the turn
 	private int starvedPercentage; // Percentage of residents starved during the turn
-	private int depotCapacity; // The amount of storage spaces in the depot
-	private int freeStorageSpaces; // The amount of free storage spaces in the depot
+	private long depotCapacity; // The amount of storage spaces in the depot
+	private long freeStorageSpaces; // The amount of free storage spaces in the depot
 	private int bushelsDecayed; // The amount of bushels decayed in the depot during the last year. 
-	private String depotState; //The state of the depot represented as string.
+	private DepotReport depotReport; //The state of the depot, rendered as string on demand.
 
 	
 	
@@ -39,10 +41,10 @@ public class TurnResult {
      * @param bushelsDecayed       Amount of bushels that decayed during the turn.
      * @param depotCapacity        The capacity of the city's depot for storing harvests.
      * @param freeStorageSpaces    The number of free storage spaces in the city's depot.
-     * @param depotState	The state of the depot represented as string.
+     * @param depotReport	The report of the depot after the turn.
      */
      
-	public TurnResult(String name, int year, int newResidents, int[] bushelsHarvested, int residents, int[] bushels, int starved, int acres, int ateByRates, int starvedPercentage, int bushelsDecayed, int depotCapacity, int freeStorageSpaces, String depotState) {
+	public TurnResult(String name, int year, int newResidents, int[] bushelsHarvested, int residents, long[] bushels, int starved, int acres, int ateByRates, int starvedPercentage, int bushelsDecayed, long depotCapacity, long freeStorageSpaces, DepotReport depotReport) {
 		this.name = name;
 		this.year = year;
 		this.newResidents = newResidents;
@@ -56,7 +58,7 @@ public class TurnResult {
 		this.bushelsDecayed = bushelsDecayed;
 		this.depotCapacity = depotCapacity;
 		this.freeStorageSpaces = freeStorageSpaces;
-		this.depotState = depotState;
+		this.depotReport = depotReport;
 	}
 
 	 /**
@@ -90,10 +92,22 @@ public class TurnResult {
 	/**
      * Returns the current number of bushels in the city.
      *
-     * @return The number of bushels
+     * @return The number of bushels, amounts beyond the int range are reported as {@code Integer.MAX_VALUE}
      */
 	public int[] getBushels() {
-		return bushels;
+		int[] result = new int[bushels.length];
+		for(int i = 0; i < bushels.length; i++)
+			result[i] = (int) Math.min(bushels[i], Integer.MAX_VALUE);
+		return result;
+	}
+
+	/**
+     * Returns the current number of bushels in the city without limiting them to the int range.
+     *
+     * @return The number of bushels
+     */
+	public long[] getBushelsLong() {
+		return bushels.clone();
 	}
 
 	/**
@@ -136,7 +150,7 @@ public class TurnResult {
 	            ", newResidents=" + newResidents +
 	            ", bushelsHarvested=" + bushelsHarvested +
 	            ", residents=" + residents +
-	            ", bushels=" + bushels +
+	            ", bushels=" + Arrays.toString(bushels) +
 	            ", starved=" + starved +
 	            ", acres=" + acres +
 	            ", ateByRates=" + ateByRates +
@@ -205,6 +219,14 @@ public class TurnResult {
 	 * @return Amount of storage spaces in the depot
 	 */
 	public int getDepotCapacity() {
+		return (int) Math.min(depotCapacity, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * The amount of storage spaces in the depot without limiting it to the int range
+	 * @return Amount of storage spaces in the depot
+	 */
+	public long getDepotCapacityLong() {
 		return depotCapacity;
 	}
 
@@ -213,6 +235,14 @@ public class TurnResult {
 	 * @return The amount of free storage spaces in the depot
 	 */
 	public int getFreeStorageSpaces() {
+		return (int) Math.min(freeStorageSpaces, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * The amount of free storage spaces in the depot without limiting it to the int range
+	 * @return The amount of free storage spaces in the depot
+	 */
+	public long getFreeStorageSpacesLong() {
 		return freeStorageSpaces;
 	}
 
@@ -240,21 +270,40 @@ public class TurnResult {
     /**
      * Returns the total number of bushels in the city after the turn.
      *
-     * @return The total number of bushels.
+     * @return The total number of bushels, at most {@code Integer.MAX_VALUE}.
      */
 	public int getTotalNumberOfBushels() {
-		int result = 0; 
-		for(int i = 0; i< this.getBushels().length; i++)
-			result += this.getBushels()[i];
+		return (int) Math.min(getTotalNumberOfBushelsLong(), Integer.MAX_VALUE);
+	}
+
+    /**
+     * Returns the total number of bushels in the city after the turn without limiting it to the int range.
+     *
+     * @return The total number of bushels.
+     */
+	public long getTotalNumberOfBushelsLong() {
+		long result = 0; 
+		for(int i = 0; i< this.bushels.length; i++)
+			result += this.bushels[i];
 		return result;
 	}
 
 	/**
 	 * Retrieves the state of the depot represented as string.
+	 * The string is rendered on the first call.
 	 * 
-	 * @return The state of the depot.
+	 * @return The state of the depot, or null if the turn was run without a depot report.
 	 */
 	public String getDepotState() {
-		return depotState;
+		return (depotReport != null) ? depotReport.toString() : null;
+	}
+
+	/**
+	 * Retrieves the report of the depot after the turn.
+	 * 
+	 * @return The report of the depot, or null if the turn was run without one.
+	 */
+	public DepotReport getDepotReport() {
+		return depotReport;
 	}
 }
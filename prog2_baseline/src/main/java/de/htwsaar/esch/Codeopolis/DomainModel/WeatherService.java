@@ -0,0 +1,201 @@
+package de.htwsaar.esch.Codeopolis.DomainModel;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Plants.Grain;
+
+/**
+ * The WeatherService provides the weather of a world that is divided into regions. All cities of a region see the same
+ * {@link Grain.Conditions} in the same year.
+ * The conditions are generated in batches of years for all regions at once: the random numbers are drawn in one pass
+ * into primitive arrays, which are then turned into immutable conditions. Every batch keeps its own arrays, so years
+ * that were generated once are never copied again, and batches that are no longer needed can be discarded.
+ * Looking up the conditions of a year that was already generated allocates nothing and does not lock.
+ */
+public class WeatherService {
+	// Random numbers drawn per region and year, in the order of Grain.Conditions.generateRandomConditions
+	private static final int DRAWS_PER_CONDITIONS = 10;
+	private static final int EVENTS = 7;
+
+	/**
+	 * The weather of one batch of years. All arrays are indexed by year within the batch * number of regions + region.
+	 */
+	private static final class Batch {
+		final float[] soilConditions;
+		final float[] averageTemperatureSummer;
+		final float[] averageTemperatureWinter;
+		final byte[] events; // Bit i is set if event i of Grain.Conditions occurs, in the order of its constructor
+		final Grain.Conditions[] conditions;
+
+		Batch(int size) {
+			this.soilConditions = new float[size];
+			this.averageTemperatureSummer = new float[size];
+			this.averageTemperatureWinter = new float[size];
+			this.events = new byte[size];
+			this.conditions = new Grain.Conditions[size];
+		}
+	}
+
+	private final int regions;
+	private final int yearsPerBatch;
+	private final RandomGenerator random;
+	// Batch b holds the years from b * yearsPerBatch on, null once discarded. The directory is published before the count,
+	// so a reader that reads the count first finds all counted batches in the directory.
+	private volatile Batch[] batches;
+	private volatile int generatedBatches;
+	private float[] draws; // Reused for every batch, only used while generating
+
+	/**
+	 * Constructs a weather service that generates a decade at a time from the given seed.
+	 *
+	 * @param regions The number of regions.
+	 * @param seed The seed the weather is derived from.
+	 */
+	public WeatherService(int regions, long seed) {
+		this(regions, 10, new SplittableRandom(seed));
+	}
+
+	/**
+	 * Constructs a weather service.
+	 *
+	 * @param regions The number of regions.
+	 * @param yearsPerBatch The number of years generated at once.
+	 * @param random The random number generator, used by this service alone.
+	 */
+	public WeatherService(int regions, int yearsPerBatch, RandomGenerator random) {
+		if (regions <= 0 || yearsPerBatch <= 0)
+			throw new IllegalArgumentException("A weather service needs at least one region and one year per batch");
+		this.regions = regions;
+		this.yearsPerBatch = yearsPerBatch;
+		this.random = random;
+		this.batches = new Batch[4];
+	}
+
+	/**
+	 * @return The number of regions.
+	 */
+	public int getRegions() {
+		return this.regions;
+	}
+
+	/**
+	 * Returns the conditions of a region in a year. All calls for the same region and year return the same instance.
+	 *
+	 * @param region The region, starting at 0.
+	 * @param year The year, starting at 0.
+	 * @return The conditions of the region in the year.
+	 */
+	public Grain.Conditions getConditions(int region, int year) {
+		return batchFor(region, year).conditions[index(region, year)];
+	}
+
+	/**
+	 * @param region The region, starting at 0.
+	 * @param year The year, starting at 0.
+	 * @return The soil conditions of the region in the year.
+	 */
+	public float getSoilConditions(int region, int year) {
+		return batchFor(region, year).soilConditions[index(region, year)];
+	}
+
+	/**
+	 * @param region The region, starting at 0.
+	 * @param year The year, starting at 0.
+	 * @return The average summer temperature of the region in the year.
+	 */
+	public float getAverageTemperatureSummer(int region, int year) {
+		return batchFor(region, year).averageTemperatureSummer[index(region, year)];
+	}
+
+	/**
+	 * @param region The region, starting at 0.
+	 * @param year The year, starting at 0.
+	 * @return The average winter temperature of the region in the year.
+	 */
+	public float getAverageTemperatureWinter(int region, int year) {
+		return batchFor(region, year).averageTemperatureWinter[index(region, year)];
+	}
+
+	/**
+	 * Releases the weather of all batches that end before the given year, e.g. once every city of the world has passed it.
+	 * The weather of the following years stays the same, asking for a discarded year throws an exception.
+	 *
+	 * @param year The first year that is still needed.
+	 */
+	public synchronized void discardBefore(int year) {
+		Batch[] current = this.batches;
+		for (int batch = 0; batch < Math.min(year / this.yearsPerBatch, this.generatedBatches); batch++)
+			current[batch] = null;
+	}
+
+	private int index(int region, int year) {
+		return (year % this.yearsPerBatch) * this.regions + region;
+	}
+
+	/**
+	 * Returns the batch that contains the given year, generating further batches if necessary.
+	 */
+	private Batch batchFor(int region, int year) {
+		if (region < 0 || region >= this.regions || year < 0)
+			throw new IllegalArgumentException("There is no weather for region " + region + " in year " + year);
+		int batch = year / this.yearsPerBatch;
+		if (batch >= this.generatedBatches)
+			generateUpTo(batch);
+		Batch result = this.batches[batch];
+		if (result == null)
+			throw new IllegalStateException("The weather of year " + year + " was discarded");
+		return result;
+	}
+
+	/**
+	 * Generates batches of years until the given batch exists. The batches generated so far are kept and drawn in order,
+	 * so the weather does not depend on the order in which it is requested.
+	 *
+	 * @param batch The batch that has to be generated.
+	 */
+	private synchronized void generateUpTo(int batch) {
+		int generated = this.generatedBatches;
+		if (batch < generated)
+			return; // Generated by another thread in the meantime
+		Batch[] directory = this.batches;
+		if (batch >= directory.length) {
+			// Only the references to the batches are copied, never their years
+			directory = Arrays.copyOf(directory, Math.max(directory.length * 2, batch + 1));
+		}
+		for (int b = generated; b <= batch; b++)
+			directory[b] = generateBatch();
+		this.batches = directory;
+		this.generatedBatches = batch + 1;
+	}
+
+	private Batch generateBatch() {
+		int count = this.yearsPerBatch * this.regions;
+		Batch next = new Batch(count);
+
+		// The generator is sequential, everything after drawing is a plain loop over primitive arrays
+		if (this.draws == null)
+			this.draws = new float[count * DRAWS_PER_CONDITIONS];
+		for (int i = 0; i < this.draws.length; i++)
+			this.draws[i] = this.random.nextFloat();
+
+		for (int i = 0; i < count; i++) {
+			int draw = i * DRAWS_PER_CONDITIONS;
+			next.soilConditions[i] = this.draws[draw];
+			next.averageTemperatureSummer[i] = this.draws[draw + 1] * 30.0f;
+			next.averageTemperatureWinter[i] = this.draws[draw + 2] * 20.0f - 10.0f;
+			int events = 0;
+			for (int event = 0; event < EVENTS; event++)
+				events |= (this.draws[draw + 3 + event] > 0.8 ? 1 : 0) << event;
+			next.events[i] = (byte) events;
+		}
+
+		for (int i = 0; i < count; i++) {
+			int events = next.events[i];
+			next.conditions[i] = new Grain.Conditions(next.soilConditions[i], next.averageTemperatureSummer[i], next.averageTemperatureWinter[i],
+					(events & 1) != 0, (events & 2) != 0, (events & 4) != 0, (events & 8) != 0, (events & 16) != 0, (events & 32) != 0, (events & 64) != 0);
+		}
+		return next;
+	}
+}
@@ -6,8 +6,8 @@ package de.htwsaar.esch.Codeopolis.Exceptions;
  * cannot proceed due to insufficient resources like bushels, acres, or building materials.
  */
 public class InsufficientResourcesException extends GameException {
-    private final int required;
-    private final int available;
+    private final long required;
+    private final long available;
 
     /**
      * Constructs a new InsufficientResourcesException with the specified detail message.
@@ -18,6 +18,17 @@ public class InsufficientResourcesException extends GameException {
      * @param available the amount of the resource that was available
      */
 	public InsufficientResourcesException(String message, int required, int available) {
+        this(message, (long) required, (long) available);
+    }
+
+    /**
+     * Constructs a new InsufficientResourcesException for amounts that may exceed the int range.
+     *
+     * @param message the detail message, which provides more information about the resource shortfall.
+     * @param required  the amount of the resource that was required
+     * @param available the amount of the resource that was available
+     */
+    public InsufficientResourcesException(String message, long required, long available) {
         super(message);
         this.required = required;
         this.available = available;
@@ -39,18 +50,36 @@ public class InsufficientResourcesException extends GameException {
     /**
      * Gets the amount of the resource that was required.
      *
-     * @return the required amount
+     * @return the required amount, at most {@code Integer.MAX_VALUE}
      */
     public int getRequired() {
+        return (int) Math.min(required, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the amount of the resource that was required without limiting it to the int range.
+     *
+     * @return the required amount
+     */
+    public long getRequiredLong() {
         return required;
     }
 
     /**
      * Gets the amount of the resource that was available.
      *
-     * @return the available amount
+     * @return the available amount, at most {@code Integer.MAX_VALUE}
      */
     public int getAvailable() {
+        return (int) Math.min(available, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the amount of the resource that was available without limiting it to the int range.
+     *
+     * @return the available amount
+     */
+    public long getAvailableLong() {
         return available;
     }
 }
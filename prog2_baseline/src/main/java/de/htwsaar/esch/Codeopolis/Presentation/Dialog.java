@@ -4,6 +4,8 @@ import de.htwsaar.esch.Codeopolis.DomainModel.CityState;
 import de.htwsaar.esch.Codeopolis.DomainModel.Game;
 import de.htwsaar.esch.Codeopolis.DomainModel.GameConfig;
 import de.htwsaar.esch.Codeopolis.DomainModel.TurnResult;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.DepotRenderer;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.DepotReport;
 
 import java.io.*;
 import java.util.InputMismatchException;
@@ -23,6 +25,8 @@ public class Dialog extends UserInterface {
     private static final int EASY = 1;
     private static final int MEDIUM = 2;
     private static final int HARD = 3;
+    // Larger depots only show their fullest silos at the end of a turn
+    private static final int DEPOT_ROWS_SHOWN = 20;
 
     private Game currentGame;
 
@@ -191,16 +195,16 @@ public class Dialog extends UserInterface {
      */
     private void printState(CityState state) {
         System.out.println("--- Current State ---");
-        System.out.println("Bushels: " + state.getTotalAmountOfBushels() +
-                " (Barley: " + state.getBushels(Game.GrainType.BARLEY) +
-                ", Corn: " + state.getBushels(Game.GrainType.CORN) +
-                ", Millet: " + state.getBushels(Game.GrainType.MILLET) +
-                ", Rice: " + state.getBushels(Game.GrainType.RICE) +
-                ", Rye: " + state.getBushels(Game.GrainType.RYE) +
-                ", Wheat: " + state.getBushels(Game.GrainType.WHEAT) +
+        System.out.println("Bushels: " + state.getTotalAmountOfBushelsLong() +
+                " (Barley: " + state.getBushelsLong(Game.GrainType.BARLEY) +
+                ", Corn: " + state.getBushelsLong(Game.GrainType.CORN) +
+                ", Millet: " + state.getBushelsLong(Game.GrainType.MILLET) +
+                ", Rice: " + state.getBushelsLong(Game.GrainType.RICE) +
+                ", Rye: " + state.getBushelsLong(Game.GrainType.RYE) +
+                ", Wheat: " + state.getBushelsLong(Game.GrainType.WHEAT) +
                 "), Acres: " + state.getAcres() +
                 ", Residents: " + state.getResidents() +
-                ", Free Storage: " + state.getFreeStorage());
+                ", Free Storage: " + state.getFreeStorageLong());
     }
 
     /**
@@ -311,14 +315,25 @@ public class Dialog extends UserInterface {
 
         System.out.println("Rats ate " + result.getAteByRates() + " bushels.");
         System.out.println(result.getBushelsDecayed() + " bushels decayed in the depot during the last year.");
-        System.out.println(result.getDepotCapacity() - result.getFreeStorageSpaces() + " of " + result.getDepotCapacity() + " storage spaces in your depot are filled with " + result.getTotalNumberOfBushels() + " bushels:");
+        System.out.println((result.getDepotCapacityLong() - result.getFreeStorageSpacesLong()) + " of " + result.getDepotCapacityLong() + " storage spaces in your depot are filled with " + result.getTotalNumberOfBushelsLong() + " bushels:");
+        long[] bushels = result.getBushelsLong(); // A copy, so it is fetched once
         for (Game.GrainType grainType : Game.GrainType.values()) {
-            int ordinal = grainType.ordinal();
-            System.out.println("\t-" + result.getBushels()[ordinal] + " bushels of " + grainType.toString().toLowerCase());
+            System.out.println("\t-" + bushels[grainType.ordinal()] + " bushels of " + grainType.toString().toLowerCase());
         }
 
-        System.out.println("Here is the detaild information on your depot:");
-        System.out.println(result.getDepotState());
+        DepotReport depotReport = result.getDepotReport();
+        DepotRenderer renderer = new DepotRenderer(System.out);
+        try {
+            if (depotReport.getSiloCount() <= DEPOT_ROWS_SHOWN) {
+                System.out.println("Here is the detaild information on your depot:");
+                renderer.render(depotReport);
+            } else {
+                System.out.println("Here is the detaild information on the " + DEPOT_ROWS_SHOWN + " fullest of your " + depotReport.getSiloCount() + " silos:");
+                renderer.renderTop(depotReport, DEPOT_ROWS_SHOWN);
+            }
+        } catch (IOException e) {
+            System.out.println(e);
+        }
 
         System.out.println("Press some key to start the new year. Enter SAVE to save the current game and continue. Enter QUIT to quit the current game. ");
         String in = "";
@@ -0,0 +1,113 @@
+package de.htwsaar.esch.codeopolis.DomainModel.Storage;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.ChunkedList;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedListTest {
+
+    @Test
+    void addLastAcrossChunks() {
+        ChunkedList<Integer> myList = new ChunkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            myList.addLast(i);
+        }
+
+        assertEquals(1000, myList.size());
+        assertEquals(0, myList.get(0));
+        assertEquals(64, myList.get(64));
+        assertEquals(999, myList.get(999));
+        assertThrows(IndexOutOfBoundsException.class, () -> myList.get(1000));
+    }
+
+    @Test
+    void set() {
+        ChunkedList<Integer> myList = new ChunkedList<>();
+        myList.addLast(1);
+        myList.addLast(2);
+
+        assertEquals(2, myList.set(5, 1));
+        assertEquals(5, myList.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> myList.set(7, 2));
+    }
+
+    @Test
+    void remove() {
+        ChunkedList<Integer> myList = new ChunkedList<>();
+        for (int i = 0; i < 100; i++) {
+            myList.addLast(i);
+        }
+
+        assertEquals(10, myList.remove(10));
+        assertEquals(99, myList.size());
+        assertEquals(11, myList.get(10));
+        assertEquals(99, myList.get(98));
+
+        myList.clear();
+        assertTrue(myList.isEmpty());
+    }
+
+    @Test
+    void iterator() {
+        ChunkedList<Integer> myList = new ChunkedList<>();
+        for (int i = 0; i < 200; i++) {
+            myList.addLast(i);
+        }
+
+        LinkedList.Iterator<Integer> iter = myList.makeIterator();
+        int expected = 0;
+        while (iter.hasNext()) {
+            int value = iter.next();
+            assertEquals(expected++, value);
+            if (value % 2 == 0) {
+                iter.remove();
+            }
+        }
+
+        assertEquals(100, myList.size());
+        assertEquals(1, myList.get(0));
+        assertEquals(199, myList.get(99));
+    }
+
+    @Test
+    void sort() {
+        ChunkedList<Integer> myList = new ChunkedList<>();
+        for (int i = 100; i > 0; i--) {
+            myList.addLast(i);
+        }
+
+        myList.sort();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, myList.get(i));
+        }
+    }
+
+    @Test
+    void snapshot() {
+        ChunkedList<Integer> myList = new ChunkedList<>();
+        for (int i = 0; i < 100; i++) {
+            myList.addLast(i);
+        }
+
+        ChunkedList<Integer> snapshot = myList.snapshot();
+        myList.set(-1, 0);
+        myList.addLast(100);
+        myList.remove(70);
+        assertEquals(0, snapshot.get(0));
+        assertEquals(70, snapshot.get(70));
+        assertEquals(100, snapshot.size());
+
+        // writing into the snapshot does not change the list either
+        snapshot.set(-2, 99);
+        assertEquals(-1, myList.get(0));
+        assertEquals(100, myList.get(99));
+        assertEquals(100, myList.size());
+
+        ChunkedList<Integer> second = myList.snapshot();
+        myList.clear();
+        assertEquals(100, second.size());
+        assertEquals(-1, second.get(0));
+    }
+}
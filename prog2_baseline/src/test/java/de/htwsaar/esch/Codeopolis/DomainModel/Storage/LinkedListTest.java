@@ -3,6 +3,9 @@ package de.htwsaar.esch.codeopolis.DomainModel.Storage;
 import de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList;
 import org.junit.jupiter.api.Test;
 
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class LinkedListTest {
@@ -20,6 +23,36 @@ class LinkedListTest {
 
     @Test
     void removeFirst() {
+        LinkedList<Integer> myList = new LinkedList<>();
+        myList.addLast(1);
+        myList.addLast(2);
+
+        myList.removeFirst();
+        assertEquals(1, myList.size());
+        assertEquals(2, myList.get(0));
+
+        myList.removeFirst();
+        assertTrue(myList.isEmpty());
+
+        // the tail has to be reset as well, otherwise the next append gets lost
+        myList.addLast(3);
+        assertEquals(1, myList.size());
+        assertEquals(3, myList.get(0));
+    }
+
+    @Test
+    void addFirstAndRemoveLast() {
+        LinkedList<Integer> myList = new LinkedList<>();
+        myList.addLast(2);
+        myList.addFirst(1);
+        myList.addLast(3);
+
+        assertEquals(1, myList.get(0));
+        assertEquals(3, myList.get(2));
+
+        myList.removeLast();
+        assertEquals(2, myList.size());
+        assertEquals(2, myList.get(1));
     }
 
     @Test
@@ -92,6 +125,11 @@ class LinkedListTest {
 
         myList.clear();
         assertTrue(myList.isEmpty());
+        assertEquals(0, myList.size());
+
+        myList.addLast(4);
+        assertEquals(1, myList.size());
+        assertEquals(4, myList.get(0));
     }
 
     @Test
@@ -118,6 +156,116 @@ class LinkedListTest {
     }
 
     @Test
-    void test1() {
+    void iteratorRemove() {
+        LinkedList<Integer> myList = new LinkedList<>();
+        for (int i = 1; i <= 5; i++) {
+            myList.addLast(i);
+        }
+
+        // remove the head, an inner node and the tail through the iterator
+        LinkedList<Integer>.LinkedIterator<Integer> iter = myList.makeIterator();
+        while (iter.hasNext()) {
+            int value = iter.next();
+            if (value == 1 || value == 3 || value == 5) {
+                iter.remove();
+            }
+        }
+
+        assertEquals(2, myList.size());
+        assertEquals(2, myList.get(0));
+        assertEquals(4, myList.get(1));
+
+        myList.addLast(6);
+        assertEquals(6, myList.get(2));
+    }
+
+    @Test
+    void iteratorRemoveWithoutNext() {
+        LinkedList<Integer> myList = new LinkedList<>();
+        myList.addLast(1);
+
+        LinkedList<Integer>.LinkedIterator<Integer> iter = myList.makeIterator();
+        assertThrows(IllegalStateException.class, iter::remove);
+
+        iter.next();
+        iter.remove();
+        assertThrows(IllegalStateException.class, iter::remove);
+        assertTrue(myList.isEmpty());
+    }
+
+    @Test
+    void iteratorFailFast() {
+        LinkedList<Integer> myList = new LinkedList<>();
+        myList.addLast(1);
+        myList.addLast(2);
+
+        LinkedList<Integer>.LinkedIterator<Integer> iter = myList.makeIterator();
+        iter.next();
+        myList.addLast(3);
+
+        assertThrows(ConcurrentModificationException.class, iter::next);
+    }
+
+    @Test
+    void splice() {
+        LinkedList<Integer> first = new LinkedList<>();
+        LinkedList<Integer> second = new LinkedList<>();
+        first.addLast(1);
+        second.addLast(2);
+        second.addLast(3);
+
+        first.splice(second);
+        assertEquals(3, first.size());
+        assertEquals(3, first.get(2));
+        assertTrue(second.isEmpty());
+
+        // both lists stay usable
+        second.addLast(4);
+        first.splice(second);
+        first.removeLast();
+        assertEquals(3, first.get(first.size() - 1));
+        assertThrows(IllegalArgumentException.class, () -> first.splice(first));
+    }
+
+    @Test
+    void sort() {
+        LinkedList<Integer> myList = new LinkedList<>();
+        int[] values = {5, 3, 9, 1, 7, 3, 8, 2, 6, 4, 0};
+        for (int value : values) {
+            myList.addLast(value);
+        }
+
+        myList.sort();
+        assertEquals(values.length, myList.size());
+        int[] expected = {0, 1, 2, 3, 3, 4, 5, 6, 7, 8, 9};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], myList.get(i));
+        }
+
+        // the backward links have to be consistent as well
+        myList.removeLast();
+        assertEquals(8, myList.get(myList.size() - 1));
+        myList.addLast(10);
+        assertEquals(10, myList.get(myList.size() - 1));
+    }
+
+    @Test
+    void sortWithComparatorIsStable() {
+        LinkedList<String> myList = new LinkedList<>();
+        String[] values = {"bb", "a", "cc", "d", "ee", "f", "g"};
+        for (String value : values) {
+            myList.addLast(value);
+        }
+
+        // order by length only, strings of equal length have to keep their order
+        myList.sort(Comparator.comparingInt(String::length));
+        String[] expected = {"a", "d", "f", "g", "bb", "cc", "ee"};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], myList.get(i));
+        }
+
+        myList.sort(Comparator.reverseOrder());
+        assertEquals("g", myList.get(0));
+        assertEquals("a", myList.get(myList.size() - 1));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package de.htwsaar.esch.codeopolis.benchmarks;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.Harvest;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.ChunkedList;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.Depot;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList;
+
+/**
+ * Microbenchmark for the per grain type queries of the {@link Depot}.
+ * It is not a unit test and is therefore not executed by surefire. Run it with
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -DmainClass=de.htwsaar.esch.codeopolis.benchmarks.DepotBenchmark
+ * </pre>
+ * If the queries are linear in the number of silos, the reported time per silo stays constant while the depot grows.
+ */
+public class DepotBenchmark {
+
+    private static final int[] SILO_COUNTS = {10_000, 20_000, 40_000, 80_000};
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        System.out.println("=== Depot.getFillLevel / getCapacity per grain type ===");
+        for (int silos : SILO_COUNTS) {
+            benchmarkDepot(silos);
+        }
+
+        System.out.println();
+        System.out.println("=== Indexed walk over all elements: LinkedList vs ChunkedList ===");
+        for (int elements : new int[] {2_500, 5_000, 10_000, 20_000}) {
+            benchmarkIndexedWalk(elements);
+        }
+    }
+
+    private static void benchmarkDepot(int numberOfSilos) {
+        Depot depot = new Depot(numberOfSilos, 100);
+        // Fill about half of the silos, spread over all grain types
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            depot.store(Harvest.createHarvest(grainType, numberOfSilos * 100 / (2 * Game.GrainType.values().length), 0));
+        }
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += queryAllGrainTypes(depot);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += queryAllGrainTypes(depot);
+        }
+        long elapsed = (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+        System.out.printf("%,8d silos: %,12d ns per round (%6.1f ns per silo and query) [%d]%n",
+                numberOfSilos, elapsed, (double) elapsed / numberOfSilos / (2 * Game.GrainType.values().length), sink % 10);
+    }
+
+    private static long queryAllGrainTypes(Depot depot) {
+        long result = 0;
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            result += depot.getFillLevel(grainType);
+            result += depot.getCapacity(grainType);
+        }
+        return result;
+    }
+
+    private static void benchmarkIndexedWalk(int elements) {
+        LinkedList<Integer> linked = new LinkedList<>();
+        ChunkedList<Integer> chunked = new ChunkedList<>();
+        for (int i = 0; i < elements; i++) {
+            linked.addLast(i);
+            chunked.addLast(i);
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < elements; i++) {
+            sink += linked.get(i);
+        }
+        long linkedTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < elements; i++) {
+            sink += chunked.get(i);
+        }
+        long chunkedTime = System.nanoTime() - start;
+
+        System.out.printf("%,8d elements: LinkedList %,14d ns, ChunkedList %,10d ns [%d]%n", elements, linkedTime, chunkedTime, sink % 10);
+    }
+}
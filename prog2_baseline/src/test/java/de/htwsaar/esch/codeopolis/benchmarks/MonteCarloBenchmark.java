@@ -0,0 +1,50 @@
+package de.htwsaar.esch.codeopolis.benchmarks;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.MonteCarloRunner;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.MonteCarloStatistics;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.SubsistencePolicy;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Shows how the {@link MonteCarloRunner} scales with the number of threads.
+ * It is not a unit test and is therefore not executed by surefire. Run it with
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -DmainClass=de.htwsaar.esch.codeopolis.benchmarks.MonteCarloBenchmark
+ * </pre>
+ * Every run simulates the same cities, so the statistics must not depend on the number of threads.
+ */
+public class MonteCarloBenchmark {
+
+    private static final int SIMULATIONS = 20_000;
+    private static final int YEARS = 10;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.println("=== MonteCarloRunner: " + SIMULATIONS + " cities of " + YEARS + " years, " + processors + " processors ===");
+
+        double singleThreaded = 0;
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                MonteCarloRunner runner = new MonteCarloRunner(Game.Difficulty.MEDIUM, SubsistencePolicy::new, YEARS, pool);
+                runner.run(SIMULATIONS / 10, SEED); // Warm-up
+
+                long start = System.nanoTime();
+                MonteCarloStatistics statistics = runner.run(SIMULATIONS, SEED);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                double citiesPerSecond = SIMULATIONS / seconds;
+                if (threads == 1) {
+                    singleThreaded = citiesPerSecond;
+                }
+                System.out.printf("%2d threads: %,10.0f cities/s, speedup %5.2f, win rate %.3f, starvation risk %.3f%n",
+                        threads, citiesPerSecond, citiesPerSecond / singleThreaded, statistics.getWinRate(), statistics.getStarvationRisk());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package de.htwsaar.esch.codeopolis.benchmarks;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.Harvest;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.Depot;
+
+import java.util.Random;
+
+/**
+ * Compares the best-fit and the first-fit placement of the {@link Depot} on the same sequence of stores and withdrawals.
+ * It is not a unit test and is therefore not executed by surefire. Run it with
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -DmainClass=de.htwsaar.esch.codeopolis.benchmarks.PlacementBenchmark
+ * </pre>
+ * Besides the time per store it reports the fragmentation afterwards: the number of partly filled silos,
+ * the number of silos in use and the number of harvest lots spread over them.
+ */
+public class PlacementBenchmark {
+
+    private static final int[] SILO_COUNTS = {1_000, 10_000, 50_000};
+    private static final int SILO_CAPACITY = 1000;
+    private static final int OPERATIONS_PER_SILO = 4;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        System.out.println("=== Depot.store: best fit vs first fit ===");
+        for (int silos : SILO_COUNTS) {
+            for (Depot.Placement placement : Depot.Placement.values()) {
+                // Once to warm up, once measured
+                run(silos, placement, false);
+                run(silos, placement, true);
+            }
+        }
+    }
+
+    private static void run(int numberOfSilos, Depot.Placement placement, boolean report) {
+        Depot depot = new Depot(numberOfSilos, SILO_CAPACITY);
+        depot.setPlacement(placement);
+        Random random = new Random(SEED);
+        Game.GrainType[] grainTypes = Game.GrainType.values();
+
+        int operations = numberOfSilos * OPERATIONS_PER_SILO;
+        long storeTime = 0;
+        int stores = 0;
+        for (int i = 0; i < operations; i++) {
+            Game.GrainType grainType = grainTypes[random.nextInt(grainTypes.length)];
+            // Keep the depot at about two thirds of its capacity
+            if (depot.getTotalFillLevel() < depot.totalCapacity() * 2L / 3) {
+                Harvest harvest = Harvest.createHarvest(grainType, 50 + random.nextInt(1150), i / numberOfSilos);
+                long start = System.nanoTime();
+                depot.store(harvest);
+                storeTime += System.nanoTime() - start;
+                stores++;
+            } else {
+                depot.takeOut(50 + random.nextInt(1500), grainType);
+            }
+        }
+
+        if (report) {
+            int partlyFilled = 0;
+            int inUse = 0;
+            Depot.Cursor cursor = depot.cursor();
+            while (cursor.advance()) {
+                if (cursor.fillLevel() > 0) {
+                    inUse++;
+                    if (cursor.fillLevel() < cursor.capacity()) {
+                        partlyFilled++;
+                    }
+                }
+            }
+            System.out.printf("%,7d silos %-9s: %,8d ns per store, %,7d partly filled, %,7d in use, %,8d harvest lots%n",
+                    numberOfSilos, placement, storeTime / Math.max(1, stores), partlyFilled, inUse, depot.getTotalHarvestCount());
+        }
+    }
+}
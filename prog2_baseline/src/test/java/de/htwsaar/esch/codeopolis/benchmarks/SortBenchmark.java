@@ -0,0 +1,104 @@
+package de.htwsaar.esch.codeopolis.benchmarks;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList;
+
+import java.util.Random;
+
+/**
+ * Compares the merge sort of {@link LinkedList} with the bubble sort it replaced.
+ * It is not a unit test and is therefore not executed by surefire. Run it with
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -DmainClass=de.htwsaar.esch.codeopolis.benchmarks.SortBenchmark
+ * </pre>
+ * The bubble sort is quadratic and is skipped for the largest input unless {@code -Dsort.bubble.all=true} is set.
+ */
+public class SortBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int BUBBLE_SORT_LIMIT = 10_000;
+
+    /**
+     * Singly linked node used by the legacy bubble sort.
+     */
+    private static class Node {
+        int content;
+        Node next;
+
+        Node(int content) {
+            this.content = content;
+        }
+    }
+
+    public static void main(String[] args) {
+        boolean bubbleAll = Boolean.getBoolean("sort.bubble.all");
+        Random random = new Random(42);
+
+        for (int size : SIZES) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt();
+            }
+
+            LinkedList<Integer> list = new LinkedList<>();
+            for (int value : values) {
+                list.addLast(value);
+            }
+            long start = System.nanoTime();
+            list.sort();
+            long mergeTime = System.nanoTime() - start;
+
+            String bubble = "skipped";
+            if (bubbleAll || size <= BUBBLE_SORT_LIMIT) {
+                Node head = null;
+                for (int i = size - 1; i >= 0; i--) {
+                    Node node = new Node(values[i]);
+                    node.next = head;
+                    head = node;
+                }
+                start = System.nanoTime();
+                bubbleSort(head);
+                bubble = String.format("%,15d ns", System.nanoTime() - start);
+            }
+
+            System.out.printf("%,8d elements: merge sort %,13d ns, bubble sort %s%n", size, mergeTime, bubble);
+        }
+    }
+
+    /**
+     * The node swapping bubble sort that {@link LinkedList#sort()} used before.
+     */
+    private static Node bubbleSort(Node head) {
+        if (head == null || head.next == null) {
+            return head;
+        }
+        boolean wasChanged;
+        do {
+            Node current = head;
+            Node previous = null;
+            Node next = current.next;
+            wasChanged = false;
+
+            while (next != null) {
+                if (current.content > next.content) {
+                    wasChanged = true;
+                    Node sig = next.next;
+                    if (previous != null) {
+                        previous.next = next;
+                    } else {
+                        head = next;
+                    }
+                    next.next = current;
+                    current.next = sig;
+
+                    previous = next;
+                    next = current.next;
+                } else {
+                    previous = current;
+                    current = next;
+                    next = next.next;
+                }
+            }
+        } while (wasChanged);
+        return head;
+    }
+}
@@ -1,6 +1,12 @@
 package de.htwsaar.esch.codeopolis.tests;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.SplittableRandom;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +18,8 @@ import de.htwsaar.esch.Codeopolis.DomainModel.CityState;
 import de.htwsaar.esch.Codeopolis.DomainModel.Game;
 import de.htwsaar.esch.Codeopolis.DomainModel.GameConfig;
 import de.htwsaar.esch.Codeopolis.DomainModel.TurnResult;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.Silo;
 import de.htwsaar.esch.Codeopolis.Exceptions.*;
 import de.htwsaar.esch.Codeopolis.DomainModel.Game.Difficulty;
 
@@ -227,6 +235,137 @@ class CityTest {
         assertThrows(LandOperationException.class, () -> 
         this.testCity.plant(acres)); 
   	}
+
+	/**
+     * Tests that the totals of a depot beyond the int range are reported correctly.
+     */
+	@Test
+	void testLargeDepotTotals() {
+		testCity.IDKFA();
+		CityState state = testCity.getState();
+		assertEquals(3000L + 6 * 100000L, state.getTotalAmountOfBushelsLong());
+		assertEquals(6L * 1500 + 6L * Integer.MAX_VALUE - 3000 - 6 * 100000, state.getFreeStorageLong());
+		assertEquals(Integer.MAX_VALUE, state.getFreeStorage());
+
+		TurnResult result = testCity.runTurn();
+		assertEquals(6L * 1500 + 6L * Integer.MAX_VALUE, result.getDepotCapacityLong());
+		assertEquals(Integer.MAX_VALUE, result.getDepotCapacity());
+		assertEquals(result.getDepotCapacityLong() - result.getFreeStorageSpacesLong(), result.getTotalNumberOfBushelsLong());
+	}
+
+	/**
+     * Tests that a headless turn returns no depot report but the same figures.
+     */
+	@Test
+	void testTurnWithoutDepotReport() throws Exception {
+		testCity.feed(2000);
+		TurnResult result = testCity.runTurn(false);
+		assertNull(result.getDepotReport());
+		assertNull(result.getDepotState());
+		assertEquals(testCity.getState().getTotalAmountOfBushelsLong(), result.getTotalNumberOfBushelsLong());
+		testCity.feed(0);
+		assertNotNull(testCity.runTurn().getDepotReport());
+	}
+
+	/**
+     * Tests that buying and selling land beyond the int range moves the full amount of bushels.
+     */
+	@Test
+	void testLargeLandTrade() throws Exception {
+		testCity.IDKFA();
+		long bushels = testCity.getState().getTotalAmountOfBushelsLong();
+
+		testCity.sell(10000, 1000000);
+		assertEquals(bushels + 10000L * 1000000, testCity.getState().getTotalAmountOfBushelsLong());
+		assertEquals(0, testCity.getState().getAcres());
+
+		testCity.buy(3000, 1000000);
+		assertEquals(bushels + 7000L * 1000000, testCity.getState().getTotalAmountOfBushelsLong());
+		assertEquals(1000000, testCity.getState().getAcres());
+
+		InsufficientResourcesException e = assertThrows(InsufficientResourcesException.class, () -> testCity.buy(Integer.MAX_VALUE, 1000000));
+		assertEquals((long) Integer.MAX_VALUE * 1000000, e.getRequiredLong());
+		assertEquals(Integer.MAX_VALUE, e.getRequired());
+		assertEquals(1000000, testCity.getState().getAcres());
+	}
+
+	/**
+     * Tests that two cities with the same seed develop the same way.
+     */
+	@Test
+	void testSeededCityIsReproducible() throws GameException {
+		TurnResult[][] results = new TurnResult[2][];
+		for (int run = 0; run < 2; run++) {
+			GameConfig config = new GameConfig(Difficulty.EASY, new SplittableRandom(7));
+			City city = new City("id", "Seeded City", config, 7L);
+			results[run] = new TurnResult[3];
+			for (int year = 0; year < 3 && !city.cityExtinct(); year++) {
+				city.feed(Math.min(2000, city.getState().getTotalAmountOfBushels()));
+				int[] acres = new int[Game.GrainType.values().length];
+				for (Game.GrainType grainType : Game.GrainType.values())
+					acres[grainType.ordinal()] = Math.min(100, city.getState().getBushels(grainType));
+				city.plant(acres);
+				results[run][year] = city.runTurn();
+			}
+		}
+		for (int year = 0; year < 3 && results[0][year] != null; year++) {
+			assertArrayEquals(results[0][year].getBushelsHarvested(), results[1][year].getBushelsHarvested());
+			assertArrayEquals(results[0][year].getBushelsLong(), results[1][year].getBushelsLong());
+			assertEquals(results[0][year].getResidents(), results[1][year].getResidents());
+			assertEquals(results[0][year].getAteByRates(), results[1][year].getAteByRates());
+		}
+	}
+
+	/**
+     * Tests that the state is only created again after the city changed.
+     */
+	@Test
+	void testStateIsCached() throws InsufficientResourcesException {
+		CityState state = testCity.getState();
+		assertSame(state, testCity.getState());
+		assertEquals(1, testCity.getStateCacheHits());
+		assertEquals(1, testCity.getStateCacheMisses());
+
+		testCity.feed(100);
+		CityState stateAfterFeeding = testCity.getState();
+		assertNotSame(state, stateAfterFeeding);
+		assertEquals(2900, stateAfterFeeding.getTotalAmountOfBushels());
+		assertEquals(2, testCity.getStateCacheMisses());
+
+		// a rejected operation changes nothing
+		assertThrows(InsufficientResourcesException.class, () -> testCity.feed(5000));
+		assertSame(stateAfterFeeding, testCity.getState());
+	}
+
+	/**
+     * Tests that a city state keeps the silos of the moment it was taken and survives saving and loading.
+     */
+	@Test
+	void testStateIsSnapshotAndSerializable() throws Exception {
+		GameConfig config = new GameConfig(Difficulty.EASY);
+		CityState state = testCity.getState();
+		testCity.feed(1000);
+		assertEquals(2000, testCity.getState().getTotalAmountOfBushels());
+
+		int bushelsInSilos = 0;
+		LinkedList<Silo>.LinkedIterator<Silo> iter = state.getSilos().makeIterator();
+		while (iter.hasNext()) {
+			bushelsInSilos += iter.next().getFillLevel();
+		}
+		assertEquals(3000, bushelsInSilos);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(state);
+		}
+		CityState loadedState;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			loadedState = (CityState) in.readObject();
+		}
+		City loadedCity = new City(loadedState, config);
+		assertEquals(3000, loadedCity.getState().getTotalAmountOfBushels());
+		assertEquals(state.getBushels(Game.GrainType.WHEAT), loadedCity.getState().getBushels(Game.GrainType.WHEAT));
+	}
 	 
 	
 
@@ -6,6 +6,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import de.htwsaar.esch.Codeopolis.DomainModel.Storage.Depot;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.DepotRenderer;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.DepotReport;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.DepotSnapshot;
+import de.htwsaar.esch.Codeopolis.DomainModel.Storage.Silo;
 import de.htwsaar.esch.Codeopolis.DomainModel.Game;
 import de.htwsaar.esch.Codeopolis.DomainModel.Harvest.*;
 
@@ -54,6 +58,337 @@ public class DepotTest {
 
     }
 
+    @Test
+    public void testEmptiedSiloIsReused() {
+        Depot smallDepot = new Depot(2, 1000);
+        assertTrue(smallDepot.store(wheatHarvest));
+        assertEquals(500, smallDepot.takeOut(500, Game.GrainType.WHEAT));
+
+        // the former wheat silo is empty again and may take corn now
+        assertTrue(smallDepot.store(Harvest.createHarvest(Game.GrainType.CORN, 2000, 2023)));
+        assertEquals(2000, smallDepot.getFillLevel(Game.GrainType.CORN));
+        assertEquals(2000, smallDepot.getCapacity(Game.GrainType.CORN));
+        assertEquals(0, smallDepot.getCapacity(Game.GrainType.WHEAT));
+    }
+
+    @Test
+    public void testAggregates() {
+        assertEquals(3000, depot.totalCapacity());
+        assertEquals(0, depot.getTotalFillLevel());
+
+        depot.store(wheatHarvest);
+        depot.store(cornHarvest);
+        assertEquals(1200, depot.getTotalFillLevel());
+        assertArrayEquals(new int[] {0, 700, 0, 0, 0, 500}, depot.getBushelsCategorizedByGrainType());
+        assertEquals(2000, depot.getCapacity(Game.GrainType.WHEAT)); // the wheat silo and the empty one
+
+        // wheat starts decaying two years after the harvest
+        int decayed = depot.decay(2025);
+        assertEquals(10, decayed);
+        assertEquals(490, depot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(1190, depot.getTotalFillLevel());
+
+        depot.takeOut(490, Game.GrainType.WHEAT);
+        assertEquals(0, depot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(2000, depot.getCapacity(Game.GrainType.WHEAT)); // both empty silos
+        assertEquals(3000, depot.getCapacity(Game.GrainType.CORN));
+        assertFalse(depot.full());
+    }
+
+    @Test
+    public void testTakeOutProportional() {
+        depot.store(wheatHarvest);
+        depot.store(cornHarvest);
+
+        // 300 of 1200 bushels is a quarter of every silo
+        assertEquals(300, depot.takeOut(300));
+        assertEquals(375, depot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(525, depot.getFillLevel(Game.GrainType.CORN));
+
+        // remainders are handed out without losing a single bushel
+        assertEquals(7, depot.takeOut(7));
+        assertEquals(893, depot.getTotalFillLevel());
+
+        assertEquals(893, depot.takeOut(5000));
+        assertEquals(0, depot.getTotalFillLevel());
+        assertEquals(0, depot.takeOut(10));
+    }
+
+    @Test
+    public void testTakeOutProportionalBeyondIntRange() {
+        Depot largeDepot = createDepot(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            assertTrue(largeDepot.store(Harvest.createHarvest(grainType, Integer.MAX_VALUE, 2023)));
+        }
+        long total = 6L * Integer.MAX_VALUE;
+        assertEquals(total, largeDepot.getTotalFillLevelLong());
+
+        assertEquals(Integer.MAX_VALUE - 1, largeDepot.takeOut(Integer.MAX_VALUE - 1));
+        assertEquals(total - (Integer.MAX_VALUE - 1), largeDepot.getTotalFillLevelLong());
+    }
+
+    @Test
+    public void testTakeOutSequential() {
+        depot.setWithdrawalPolicy(Depot.WithdrawalPolicy.SEQUENTIAL);
+        depot.store(wheatHarvest);
+        depot.store(cornHarvest);
+
+        assertEquals(600, depot.takeOut(600));
+        assertEquals(0, depot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(600, depot.getFillLevel(Game.GrainType.CORN));
+    }
+
+    @Test
+    public void testDefragment() {
+        Depot fragmentedDepot = new Depot(4, 1000);
+        // wheat and corn are spread over two silos each, no silo is empty
+        fragmentedDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 600, 2023));
+        fragmentedDepot.store(Harvest.createHarvest(Game.GrainType.CORN, 600, 2023));
+        fragmentedDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 600, 2023));
+        fragmentedDepot.store(Harvest.createHarvest(Game.GrainType.CORN, 600, 2023));
+        fragmentedDepot.takeOut(300, Game.GrainType.WHEAT);
+        fragmentedDepot.takeOut(300, Game.GrainType.CORN);
+        assertEquals(0, fragmentedDepot.getCapacity(Game.GrainType.RICE));
+
+        // storing rice compacts wheat and corn into one silo each
+        assertTrue(fragmentedDepot.store(Harvest.createHarvest(Game.GrainType.RICE, 1500, 2023)));
+        assertEquals(900, fragmentedDepot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(900, fragmentedDepot.getFillLevel(Game.GrainType.CORN));
+        assertEquals(1500, fragmentedDepot.getFillLevel(Game.GrainType.RICE));
+        assertEquals(1000, fragmentedDepot.getCapacity(Game.GrainType.WHEAT));
+        assertEquals(3300, fragmentedDepot.getTotalFillLevel());
+
+        // no stock is lost if the depot is too small after all
+        assertFalse(fragmentedDepot.store(Harvest.createHarvest(Game.GrainType.RYE, 1000, 2023)));
+        assertEquals(900, fragmentedDepot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(900, fragmentedDepot.getFillLevel(Game.GrainType.CORN));
+        assertEquals(1500, fragmentedDepot.getFillLevel(Game.GrainType.RICE));
+    }
+
+    @Test
+    public void testHarvestsOfSameYearAreCoalesced() {
+        Depot smallDepot = new Depot(2, 1000);
+        smallDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 1000, 2022));
+        smallDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 500, 2023));
+        smallDepot.takeOut(300, Game.GrainType.WHEAT);
+        assertEquals(2, smallDepot.getTotalHarvestCount());
+
+        // the silo already holding 2023 takes the harvest, although the first silo has room as well
+        for (int i = 0; i < 6; i++) {
+            smallDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 10, 2023));
+        }
+        assertTrue(smallDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 0, 2024)));
+        assertEquals(2, smallDepot.getTotalHarvestCount());
+        assertEquals(1260, smallDepot.getFillLevel(Game.GrainType.WHEAT));
+    }
+
+    @Test
+    public void testCursor() {
+        depot.store(wheatHarvest);
+        depot.store(cornHarvest);
+
+        int fillLevel = 0;
+        int capacity = 0;
+        int silos = 0;
+        Depot.Cursor cursor = depot.cursor();
+        while (cursor.advance()) {
+            fillLevel += cursor.fillLevel();
+            capacity += cursor.capacity();
+            silos++;
+        }
+        assertEquals(1200, fillLevel);
+        assertEquals(3000, capacity);
+        assertEquals(3, silos);
+        assertThrows(java.util.NoSuchElementException.class, cursor::fillLevel);
+
+        // the wheat silo first, then the empty silo
+        cursor = depot.cursor(Game.GrainType.WHEAT);
+        assertTrue(cursor.advance());
+        assertEquals(Game.GrainType.WHEAT, cursor.grainType());
+        assertEquals(500, cursor.fillLevel());
+        assertTrue(cursor.advance());
+        assertNull(cursor.grainType());
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testSnapshot() {
+        depot.store(wheatHarvest);
+        DepotSnapshot snapshot = depot.snapshot();
+        assertEquals(snapshot, depot.snapshot()); // nothing changed in between
+
+        depot.store(cornHarvest);
+        depot.takeOut(200, Game.GrainType.WHEAT);
+        assertNotEquals(snapshot, depot.snapshot());
+
+        // the snapshot still shows the wheat silo as it was and a fresh depot restores it
+        Depot restored = new Depot(snapshot);
+        assertEquals(500, restored.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(0, restored.getFillLevel(Game.GrainType.CORN));
+        assertEquals(3, snapshot.getSilos().size());
+        assertEquals(3, depot.getSilos().size());
+
+        // the restored depot is independent of the original one
+        restored.takeOut(500, Game.GrainType.WHEAT);
+        assertEquals(300, depot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(500, new Depot(snapshot).getFillLevel(Game.GrainType.WHEAT));
+    }
+
+    @Test
+    public void testReport() {
+        depot.store(cornHarvest);
+        depot.store(wheatHarvest);
+        DepotReport report = depot.report();
+        depot.takeOut(700, Game.GrainType.CORN);
+
+        // the rows show the silos as they were, ordered by fill level
+        assertEquals(3, report.getSiloCount());
+        assertEquals(0, report.getFillLevel(0));
+        assertNull(report.getGrainType(0));
+        assertEquals(500, report.getFillLevel(1));
+        assertEquals(Game.GrainType.CORN, report.getGrainType(2));
+        assertEquals(700, report.getFillLevel(2));
+        assertTrue(report.toString().startsWith("Silo 1: EMPTY\n"));
+
+        // the depot keeps its order, the corn silo is still the first one
+        Depot.Cursor cursor = depot.cursor();
+        cursor.advance();
+        assertEquals(1000, cursor.capacity());
+        assertEquals(0, cursor.fillLevel());
+        cursor.advance();
+        assertEquals(Game.GrainType.WHEAT, cursor.grainType());
+    }
+
+    @Test
+    public void testRenderer() throws java.io.IOException {
+        depot.store(wheatHarvest);
+        depot.store(cornHarvest);
+        DepotReport report = depot.report();
+
+        StringBuilder top = new StringBuilder();
+        new DepotRenderer(top).renderTop(report, 1);
+        assertEquals("Silo 3: Corn\nAmount of Grain: 700 units\n|==============------| 70.00% filled\nCapacity: 1000 units\n\n", top.toString());
+
+        java.io.StringWriter pages = new java.io.StringWriter();
+        DepotRenderer renderer = new DepotRenderer(pages);
+        assertEquals(2, DepotRenderer.pageCount(report, 2));
+        assertEquals(1, DepotRenderer.pageCount(report, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> DepotRenderer.pageCount(report, 0));
+        assertThrows(IllegalArgumentException.class, () -> renderer.renderPage(report, 0, 0));
+        renderer.renderPage(report, 0, 2);
+        renderer.renderPage(report, 1, 2);
+        assertEquals(report.toString(), pages.toString());
+
+        Depot oddDepot = new Depot(1, 3);
+        oddDepot.store(Harvest.createHarvest(Game.GrainType.RYE, 2, 2023));
+        assertTrue(oddDepot.toString().contains("|=============-------| 66.67% filled"));
+    }
+
+    @Test
+    public void testPlacement() {
+        Depot bestFit = createDepot(1000, 500, 300, 200);
+        bestFit.store(Harvest.createHarvest(Game.GrainType.WHEAT, 250, 2023));
+        bestFit.store(Harvest.createHarvest(Game.GrainType.CORN, 450, 2023));
+        assertArrayEquals(new int[] {0, 450, 250, 0}, fillLevels(bestFit));
+
+        // the wheat silo is too small now, so the smallest empty silo that takes all of it is used
+        bestFit.store(Harvest.createHarvest(Game.GrainType.WHEAT, 400, 2024));
+        assertArrayEquals(new int[] {400, 450, 250, 0}, fillLevels(bestFit));
+        // the wheat silo with the least free capacity that still takes the harvest
+        bestFit.store(Harvest.createHarvest(Game.GrainType.WHEAT, 50, 2025));
+        assertArrayEquals(new int[] {400, 450, 300, 0}, fillLevels(bestFit));
+        // no silo takes all of it, so the corn silo is filled up and the rest goes into the best fitting empty silo
+        assertTrue(bestFit.store(Harvest.createHarvest(Game.GrainType.CORN, 250, 2024)));
+        assertArrayEquals(new int[] {400, 500, 300, 200}, fillLevels(bestFit));
+        assertEquals(700, bestFit.getFillLevel(Game.GrainType.CORN));
+
+        Depot firstFit = createDepot(1000, 500, 300, 200);
+        firstFit.setPlacement(Depot.Placement.FIRST_FIT);
+        firstFit.store(Harvest.createHarvest(Game.GrainType.WHEAT, 250, 2023));
+        firstFit.store(Harvest.createHarvest(Game.GrainType.CORN, 450, 2023));
+        assertArrayEquals(new int[] {250, 450, 0, 0}, fillLevels(firstFit));
+    }
+
+    @Test
+    public void testRenderTopWithReservedSilos() throws java.io.IOException {
+        Depot largeDepot = createDepot(1000, 500, 1000, 300, 1000);
+        largeDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 400, 2023));
+        largeDepot.store(Harvest.createHarvest(Game.GrainType.CORN, 400, 2023));
+        largeDepot.store(Harvest.createHarvest(Game.GrainType.RYE, 100, 2023));
+        largeDepot.expand(4, 2000);
+        largeDepot.expand(3, 1500);
+
+        for (int n = 0; n <= 13; n++) {
+            // a fresh report selects the rows, a report whose rows were built reads them
+            DepotReport selected = largeDepot.report();
+            DepotReport built = largeDepot.report();
+            built.toString();
+            StringBuilder expected = new StringBuilder();
+            new DepotRenderer(expected).renderTop(built, n);
+            StringBuilder actual = new StringBuilder();
+            new DepotRenderer(actual).renderTop(selected, n);
+            assertEquals(expected.toString(), actual.toString());
+        }
+
+        DepotReport report = largeDepot.report();
+        assertEquals(12, report.getSiloCount());
+        long capacity = 0;
+        for (int row = 0; row < report.getSiloCount(); row++) {
+            capacity += report.getCapacity(row);
+            assertEquals(row < 9, report.getGrainType(row) == null);
+        }
+        assertEquals(largeDepot.totalCapacityLong(), capacity);
+        assertEquals(100, report.getFillLevel(9));
+        assertTrue(report.getFillLevel(10) <= report.getFillLevel(11));
+    }
+
+    @Test
+    public void testStoreAll() {
+        Harvest[] harvests = {
+                Harvest.createHarvest(Game.GrainType.WHEAT, 800, 2023),
+                null,
+                Harvest.createHarvest(Game.GrainType.RYE, 0, 2023),
+                Harvest.createHarvest(Game.GrainType.CORN, 1500, 2023),
+                Harvest.createHarvest(Game.GrainType.RICE, 900, 2023)
+        };
+        // wheat and corn occupy all three silos, even defragmenting leaves no silo for rice
+        assertArrayEquals(new int[] {0, 0, 0, 0, 900}, depot.storeAll(harvests));
+        assertEquals(800, depot.getFillLevel(Game.GrainType.WHEAT));
+        assertEquals(1500, depot.getFillLevel(Game.GrainType.CORN));
+        assertEquals(0, depot.getFillLevel(Game.GrainType.RICE));
+    }
+
+    @Test
+    public void testDefragmentBeyondIntRange() {
+        Depot largeDepot = createDepot(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        largeDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, 1000, 2022));
+        largeDepot.store(Harvest.createHarvest(Game.GrainType.WHEAT, Integer.MAX_VALUE, 2023));
+        long wheat = Integer.MAX_VALUE + 1000L;
+        assertEquals(wheat, largeDepot.getFillLevelLong(Game.GrainType.WHEAT));
+
+        largeDepot.defragment();
+        assertEquals(wheat, largeDepot.getFillLevelLong(Game.GrainType.WHEAT));
+        assertEquals(wheat, largeDepot.getTotalFillLevelLong());
+    }
+
+    private static Depot createDepot(int... capacities) {
+        de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList<Silo> silos = new de.htwsaar.esch.Codeopolis.DomainModel.Storage.LinkedList<>();
+        for (int capacity : capacities) {
+            silos.addLast(new Silo(capacity));
+        }
+        return new Depot(silos);
+    }
+
+    private static int[] fillLevels(Depot depot) {
+        int[] result = new int[depot.getSilos().size()];
+        Depot.Cursor cursor = depot.cursor();
+        for (int i = 0; cursor.advance(); i++) {
+            result[i] = cursor.fillLevel();
+        }
+        return result;
+    }
+
     @Test
     public void testExpand() {
         depot.expand(2, 1500);
@@ -61,5 +396,62 @@ public class DepotTest {
         assertEquals(6000, depot.getCapacity(Game.GrainType.CORN));
     }
 
+    @Test
+    public void testIteratorAfterExpand() {
+        depot.store(cornHarvest);
+        depot.expand(3, 2000);
+        depot.store(Harvest.createHarvest(Game.GrainType.CORN, 1000, 2024));
+
+        // the corn silos first, then the empty silos including those not created yet
+        int[] expectedFillLevels = {700, 1000, 0, 0, 0, 0};
+        int[] expectedCapacities = {1000, 1000, 1000, 2000, 2000, 2000};
+        Depot.Iterator iter = depot.createIterator(Game.GrainType.CORN);
+        int i = 0;
+        while (iter.hasNext()) {
+            Silo.Status status = iter.next();
+            assertEquals(expectedFillLevels[i], status.getFillLevel());
+            assertEquals(expectedCapacities[i], status.getCapacity());
+            i++;
+        }
+        assertEquals(6, i);
+        assertThrows(java.util.NoSuchElementException.class, iter::next);
+    }
+
+    @Test
+    public void testLargeExpand() {
+        depot.store(wheatHarvest);
+        depot.expand(10_000, 1000);
+        // The expansion cost of 500 bushels is deducted at once
+        assertEquals(0, depot.getTotalFillLevel());
+        assertEquals(10_003_000, depot.totalCapacity());
+        assertEquals(10_003, depot.snapshot().size());
+
+        for (int year = 0; year < 10; year++) {
+            assertTrue(depot.store(Harvest.createHarvest(Game.GrainType.CORN, 1000, year)));
+        }
+        assertEquals(10_000, depot.getFillLevel(Game.GrainType.CORN));
+        assertEquals(10_003_000, depot.totalCapacity());
+
+        int silos = 0;
+        int fullSilos = 0;
+        long capacity = 0;
+        Depot.Cursor cursor = depot.cursor();
+        while (cursor.advance()) {
+            silos++;
+            capacity += cursor.capacity();
+            fullSilos += (cursor.fillLevel() == 1000) ? 1 : 0;
+        }
+        assertEquals(10_003, silos);
+        assertEquals(10_003_000, capacity);
+        assertEquals(10, fullSilos);
+
+        DepotSnapshot snapshot = depot.snapshot();
+        assertEquals(10_003, snapshot.getSilos().size());
+        Depot restored = new Depot(snapshot);
+        assertEquals(10_003_000, restored.totalCapacity());
+        assertEquals(10_000, restored.getFillLevel(Game.GrainType.CORN));
+        assertEquals(depot.toString(), restored.toString());
+    }
+
   
 }
@@ -1,10 +1,14 @@
 package de.htwsaar.esch.codeopolis.tests;
 
 
+import java.util.SplittableRandom;
+
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
 import de.htwsaar.esch.Codeopolis.DomainModel.Plants.*;
 
 public class GrainTests {
@@ -693,4 +697,185 @@ public class GrainTests {
         crop = barley.harvest();
         Assertions.assertEquals(expectedCropFusarium, crop, 1);  
 	}
+
+	/**
+	 * Tests that the grain classes and the loop over all planted grains of the GrainResponseTable
+	 * calculate the same yield ratios for random conditions as the original grain classes.
+	 */
+	@Test
+	public void testResponseTableAgreesWithGrains() {
+		SplittableRandom random = new SplittableRandom(3);
+		for (int year = 0; year < 1000; year++) {
+			Grain.Conditions conditions = new Grain.Conditions(random.nextFloat(), random.nextFloat() * 30f, random.nextFloat() * 20f - 10f,
+					random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean());
+			Grain[] planted = {new Barley(), new Corn(), new Millet(), new Rice(), new Rye(), new Wheat()};
+			GrainResponseTable.STANDARD.grow(planted, conditions);
+
+			Grain[] grains = {new Barley(), new Corn(), new Millet(), new Rice(), new Rye(), new Wheat()};
+			for (Grain grain : grains) {
+				grain.grow(conditions);
+				if (conditions.isDrought())
+					grain.drought();
+				if (conditions.isFusarium())
+					grain.diseaseOutbreak(Grain.Diseases.Fusarium, conditions);
+				if (conditions.isLeafDrought())
+					grain.diseaseOutbreak(Grain.Diseases.LeafDrought, conditions);
+				if (conditions.isPowderyMildew())
+					grain.diseaseOutbreak(Grain.Diseases.PowderyMildew, conditions);
+				if (conditions.isBarleyGoOutFly())
+					grain.pestInfestation(Grain.Pests.BarleyGoutFly, conditions);
+				if (conditions.isDeliaFly())
+					grain.pestInfestation(Grain.Pests.DeliaFly, conditions);
+				if (conditions.isFritFly())
+					grain.pestInfestation(Grain.Pests.FritFly, conditions);
+
+				Game.GrainType grainType = grain.getGrainType();
+				float expected = referenceYieldRatio(grainType, conditions);
+				Assertions.assertEquals(expected, grain.getYieldRatio(), grainType + " grown by itself");
+				Assertions.assertEquals(expected, planted[grainType.ordinal()].getYieldRatio(), grainType + " grown by the table");
+				Assertions.assertEquals(expected,
+						GrainResponseTable.STANDARD.yieldRatio(grainType, GrainResponseTable.STANDARD.getBasicYieldRatio(grainType), conditions), grainType + " calculated by the table");
+			}
+		}
+		Assertions.assertEquals((double) 0.85f, GrainResponseTable.STANDARD.getMultiplier(Game.GrainType.MILLET, GrainResponseTable.Event.BARLEY_GOUT_FLY, 1));
+		Assertions.assertEquals(1.0, GrainResponseTable.STANDARD.getMultiplier(Game.GrainType.RYE, GrainResponseTable.Event.FRIT_FLY, 0));
+	}
+
+	/**
+	 * Calculates the yield ratio the way the original grain classes did, with their own mix of float and double factors.
+	 * The events are applied in the order the city applies them: drought, Fusarium, LeafDrought, PowderyMildew,
+	 * BarleyGoutFly, DeliaFly, FritFly.
+	 */
+	private static float referenceYieldRatio(Game.GrainType grainType, Grain.Conditions conditions) {
+		float soil = conditions.getSoilConditions();
+		float summer = conditions.getAverageTemperatureSummer();
+		float winter = conditions.getAverageTemperatureWinter();
+		float yieldRatio;
+		switch (grainType) {
+		case BARLEY:
+			yieldRatio = soil * 4f;
+			if (winter < 3.3f * (1 - 0.25f))
+				yieldRatio *= (1 - 0.2f);
+			if (conditions.isDrought())
+				yieldRatio *= 0.8;
+			if (conditions.isFusarium())
+				yieldRatio *= 0.75f;
+			if (conditions.isBarleyGoOutFly())
+				yieldRatio *= 0.6;
+			return yieldRatio;
+		case CORN:
+			yieldRatio = soil * 4f;
+			if (summer > 18f * (1 + 0.25f))
+				yieldRatio *= (1 - 0.2f);
+			if (conditions.isDrought())
+				yieldRatio *= 0.7;
+			if (conditions.isPowderyMildew())
+				yieldRatio *= 0.75f;
+			if (conditions.isFritFly())
+				yieldRatio *= 0.6f;
+			return yieldRatio;
+		case MILLET:
+			yieldRatio = soil * 2f;
+			if (summer > 18f * (1 + 0.45f))
+				yieldRatio *= (1 - 0.1f);
+			if (conditions.isDrought())
+				yieldRatio *= 0.95f;
+			if (conditions.isBarleyGoOutFly()) {
+				if (soil < 0.8)
+					yieldRatio *= 0.85f;
+				else
+					yieldRatio *= 0.9f;
+			}
+			return yieldRatio;
+		case RICE:
+			yieldRatio = soil * 6f;
+			if (summer > 18f * (1 + 0.1f))
+				yieldRatio *= (1 - 0.4f);
+			if (conditions.isDrought())
+				yieldRatio *= 0.5;
+			if (conditions.isFusarium())
+				yieldRatio *= 0.75f;
+			if (conditions.isLeafDrought())
+				yieldRatio *= 0.7f;
+			if (conditions.isBarleyGoOutFly())
+				yieldRatio *= 0.7f;
+			if (conditions.isDeliaFly()) {
+				if (summer > 18f * (1 + 0.1f))
+					yieldRatio *= 0.6f;
+				else
+					yieldRatio *= 0.7f;
+			}
+			return yieldRatio;
+		case RYE:
+			yieldRatio = soil * 2f;
+			if (winter < 3.3f * (1 - 0.45f))
+				yieldRatio *= (1 - 0.1f);
+			if (conditions.isDrought())
+				yieldRatio *= 0.95;
+			if (conditions.isPowderyMildew()) {
+				if (winter > 3.3f + 3f)
+					yieldRatio *= 0.85f;
+				else
+					yieldRatio *= 0.9f;
+			}
+			return yieldRatio;
+		case WHEAT:
+			yieldRatio = soil * 6f;
+			if (winter < 3.3f * (1 - 0.1f))
+				yieldRatio *= (1 - 0.4f);
+			if (conditions.isDrought())
+				yieldRatio *= 0.5;
+			if (conditions.isLeafDrought()) {
+				if (winter > 3.3f + 2f)
+					yieldRatio *= 0.6f;
+				else
+					yieldRatio *= 0.7;
+			}
+			if (conditions.isPowderyMildew())
+				yieldRatio *= 0.7f;
+			if (conditions.isBarleyGoOutFly())
+				yieldRatio *= 0.7f;
+			if (conditions.isFritFly())
+				yieldRatio *= 0.75f;
+			return yieldRatio;
+		default:
+			throw new IllegalArgumentException("Unknown grain type " + grainType);
+		}
+	}
+
+	/**
+	 * Tests that grains overriding their responses, or constructed without a grain type, keep their own behavior
+	 * when they are grown by the response table.
+	 */
+	@Test
+	public void testResponseTableCallsOverridingGrains() {
+		Grain.Conditions conditions = new Grain.Conditions(0.5f, 25f, 0f, true, false, false, false, false, false, false);
+
+		// a wheat variety that does not suffer from droughts
+		Grain hardyWheat = new Wheat() {
+			@Override
+			public void drought() {
+			}
+		};
+		// a grain in the style of the original subclasses, defining its own responses
+		Grain legacyGrain = new SpringGrain(2f, 0.5f, 0.1f) {
+			@Override
+			public void drought() {
+				this.yieldRatio *= 0.5f;
+			}
+		};
+		Grain[] planted = {hardyWheat, legacyGrain, new Wheat()};
+		GrainResponseTable.STANDARD.grow(planted, conditions);
+
+		Wheat wheat = new Wheat();
+		wheat.grow(conditions);
+		Assertions.assertEquals(wheat.getYieldRatio(), hardyWheat.getYieldRatio());
+		wheat.drought();
+		Assertions.assertEquals(wheat.getYieldRatio(), planted[2].getYieldRatio());
+		Assertions.assertNotEquals(hardyWheat.getYieldRatio(), planted[2].getYieldRatio());
+
+		// soil 0.5 * basic 2, halved by the hot summer and again by the drought
+		Assertions.assertNull(legacyGrain.getGrainType());
+		Assertions.assertEquals(0.25f, legacyGrain.getYieldRatio());
+	}
 }
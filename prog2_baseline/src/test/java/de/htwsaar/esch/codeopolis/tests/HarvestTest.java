@@ -20,6 +20,41 @@ public class HarvestTest {
         assertEquals(49, cornHarvest.decay(2024)); 
     }
 
+    @Test
+    public void testDecayTableMatchesYearlyCalculation() {
+        for (Game.GrainType grainType : Game.GrainType.values()) {
+            DecayTable table = DecayTable.forGrainType(grainType);
+            boolean doubling = grainType == Game.GrainType.RICE || grainType == Game.GrainType.WHEAT;
+            double first = table.getShelfLife() == 4 ? 0.01 : 0.02;
+            double step = table.getShelfLife() == 4 ? 0.02 : 0.03;
+
+            for (int yearsOfDecay = 1; yearsOfDecay < 30; yearsOfDecay++) {
+                // the year by year calculation the harvests used before
+                double decayPercentage = first;
+                for (int i = 1; i < yearsOfDecay; i++) {
+                    decayPercentage = doubling ? decayPercentage * 2 : decayPercentage + step;
+                }
+                int expected = Math.min(12345, (int) (12345 * decayPercentage));
+                assertEquals(expected, table.decayedAmount(12345, 2000, 2000 + table.getShelfLife() + yearsOfDecay),
+                        grainType + " after " + yearsOfDecay + " years of decay");
+            }
+            assertEquals(0, table.decayedAmount(12345, 2000, 2000 + table.getShelfLife()));
+            assertEquals(12345, table.decayedAmount(12345, 2000, 3000));
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        Harvest first = Harvest.createHarvest(Game.GrainType.CORN, 300, 2020);
+        Harvest second = Harvest.createHarvest(Game.GrainType.CORN, 200, 2020);
+        assertSame(first, first.merge(second));
+        assertEquals(500, first.getAmount());
+        assertEquals(0, second.getAmount());
+
+        assertThrows(IllegalArgumentException.class, () -> first.merge(Harvest.createHarvest(Game.GrainType.CORN, 10, 2021)));
+        assertThrows(IllegalArgumentException.class, () -> first.merge(Harvest.createHarvest(Game.GrainType.RYE, 10, 2020)));
+    }
+
     @Test
     public void testCornHarvestGrainType() {
     	Harvest cornHarvest = Harvest.createHarvest(Game.GrainType.CORN, 1000, 2020);
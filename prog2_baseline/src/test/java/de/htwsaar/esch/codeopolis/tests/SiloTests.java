@@ -116,4 +116,43 @@ public class SiloTests {
 
         assertEquals(2, silo.getHarvestCount()); // Two harvests stored
     }
+
+    @Test
+    public void testYearBuckets() {
+        silo.store(Harvest.createHarvest(GrainType.CORN, 100, 2021));
+        silo.store(Harvest.createHarvest(GrainType.CORN, 100, 2021));
+        silo.store(Harvest.createHarvest(GrainType.CORN, 50, 2019)); // older than everything stored so far
+        silo.store(Harvest.createHarvest(GrainType.CORN, 30, 2030)); // grows the ring
+
+        assertEquals(3, silo.getHarvestCount()); // one harvest per year
+        assertEquals(200, silo.getAmountOfYear(2021));
+        assertEquals(0, silo.getAmountOfYear(2020));
+        assertEquals(280, silo.getFillLevel());
+
+        // the oldest grain leaves the silo first
+        assertEquals(120, silo.takeOut(120));
+        assertEquals(0, silo.getAmountOfYear(2019));
+        assertEquals(130, silo.getAmountOfYear(2021));
+        assertEquals(2, silo.getHarvestCount());
+
+        LinkedList<Harvest> removedHarvests = silo.emptySilo();
+        assertEquals(2, removedHarvests.size());
+        assertEquals(2021, removedHarvests.get(0).getYear());
+        assertEquals(2030, removedHarvests.get(1).getYear());
+        assertEquals(0, silo.getHarvestCount());
+    }
+
+    @Test
+    public void testStoreSurplusAndHarvestViews() {
+        Harvest cornHarvest = Harvest.createHarvest(GrainType.CORN, 1200, 2020);
+        assertSame(cornHarvest, silo.store(cornHarvest)); // the surplus stays in the given harvest
+        assertEquals(200, cornHarvest.getAmount());
+        assertEquals(1000, silo.getFillLevel());
+
+        LinkedList<Harvest> harvests = silo.getHarvests();
+        assertEquals(1, harvests.size());
+        assertEquals(GrainType.CORN, harvests.get(0).getGrainType());
+        harvests.get(0).remove(500); // the views are copies
+        assertEquals(1000, silo.getAmountOfYear(2020));
+    }
 }
@@ -0,0 +1,164 @@
+package de.htwsaar.esch.codeopolis.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.City;
+import de.htwsaar.esch.Codeopolis.DomainModel.CityView;
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.GameConfig;
+import de.htwsaar.esch.Codeopolis.DomainModel.Game.Difficulty;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.DecisionPolicy;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.MonteCarloRunner;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.MonteCarloStatistics;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.SimulationSummary;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.Simulator;
+import de.htwsaar.esch.Codeopolis.DomainModel.Simulation.SubsistencePolicy;
+
+/**
+ * Unit tests for the headless Simulator.
+ */
+class SimulatorTest {
+
+	@Test
+	public void testSubsistencePolicyPlaysAllYears() {
+		GameConfig config = new GameConfig(Difficulty.EASY);
+		Simulator simulator = new Simulator(config, new SubsistencePolicy());
+		City city = new City(java.util.UUID.randomUUID().toString(), "Simulated City", config);
+
+		SimulationSummary summary = simulator.run(city, 5);
+
+		// 100 residents need 2000 of the 3000 initial bushels, so nobody starves in the first year
+		assertEquals(0, summary.getStarved(0));
+		assertTrue(summary.getTurns() >= 1 && summary.getTurns() <= 5);
+		assertEquals(summary.getTurns(), simulator.getSimulatedTurns());
+		// The policy reads the city through its view, so no state was created during the simulation
+		assertEquals(0, city.getStateCacheMisses());
+		assertEquals(city.getState().getYear(), summary.getTurns());
+		assertEquals(city.getState().getResidents(), summary.getResidents(summary.getTurns() - 1));
+		for (Game.GrainType grainType : Game.GrainType.values())
+			assertEquals(city.getState().getBushelsLong(grainType), summary.getBushels(summary.getTurns() - 1, grainType));
+		assertEquals(0, summary.getRejectedDecisions());
+		assertTrue(summary.getTurnsPerSecond() > 0);
+		assertThrows(IndexOutOfBoundsException.class, () -> summary.getResidents(summary.getTurns()));
+	}
+
+	@Test
+	public void testViewFollowsTheCity() throws Exception {
+		GameConfig config = new GameConfig(Difficulty.EASY);
+		City city = new City(java.util.UUID.randomUUID().toString(), "Viewed City", config, 3);
+		CityView view = city.getView();
+
+		city.buy(20, 10);
+		assertEquals(city.getState().getAcres(), view.getAcres());
+		assertEquals(city.getState().getTotalAmountOfBushelsLong(), view.getTotalAmountOfBushelsLong());
+		assertEquals(city.getState().getFreeStorageLong(), view.getFreeStorageLong());
+		for (Game.GrainType grainType : Game.GrainType.values())
+			assertEquals(city.getState().getBushelsLong(grainType), view.getBushelsLong(grainType));
+		assertEquals(city.getState().getResidents(), view.getResidents());
+		assertEquals(city.getState().getYear(), view.getYear());
+	}
+
+	@Test
+	public void testStarvingCityEndsSimulation() {
+		DecisionPolicy starve = new SubsistencePolicy() {
+			@Override
+			public int feed(int bushelsPerResident, CityView city) {
+				return 0;
+			}
+		};
+		Simulator simulator = new Simulator(new GameConfig(Difficulty.EASY), starve);
+
+		SimulationSummary summary = simulator.run("Starving City");
+
+		assertEquals(1, summary.getTurns());
+		assertEquals(SimulationSummary.Outcome.EXTINCT, summary.getOutcome());
+		assertEquals(100, summary.getStarvedPercentage(0));
+	}
+
+	@Test
+	public void testRejectedDecisionIsSkipped() {
+		DecisionPolicy overspend = new SubsistencePolicy() {
+			@Override
+			public int buy(int pricePerAcre, CityView city) {
+				return Integer.MAX_VALUE / pricePerAcre;
+			}
+		};
+		GameConfig config = new GameConfig(Difficulty.EASY);
+		City city = new City(java.util.UUID.randomUUID().toString(), "Greedy City", config);
+
+		SimulationSummary summary = new Simulator(config, overspend).run(city, 1);
+
+		assertEquals(1, summary.getTurns());
+		assertEquals(1, summary.getRejectedDecisions());
+		assertEquals(1000, summary.getAcres(0));
+	}
+
+	@Test
+	public void testMonteCarloStatisticsMergeIsAssociative() {
+		GameConfig config = new GameConfig(Difficulty.EASY);
+		SimulationSummary[] summaries = new SimulationSummary[3];
+		for (int i = 0; i < summaries.length; i++)
+			summaries[i] = new Simulator(config, new SubsistencePolicy()).run(new City("id" + i, "City " + i, config, i), 10);
+
+		MonteCarloStatistics leftFirst = new MonteCarloStatistics(10).add(summaries[0]).merge(new MonteCarloStatistics(10).add(summaries[1]))
+				.merge(new MonteCarloStatistics(10).add(summaries[2]));
+		MonteCarloStatistics rightFirst = new MonteCarloStatistics(10).add(summaries[2])
+				.merge(new MonteCarloStatistics(10).add(summaries[1]).merge(new MonteCarloStatistics(10).add(summaries[0])));
+
+		assertEquals(3, leftFirst.getSimulations());
+		assertEquals(leftFirst.getWinRate(), rightFirst.getWinRate());
+		for (int year = 0; year < 10; year++) {
+			assertEquals(leftFirst.getCitiesPlaying(year), rightFirst.getCitiesPlaying(year));
+			assertEquals(leftFirst.getMeanResidents(year), rightFirst.getMeanResidents(year));
+			assertEquals(leftFirst.getMeanStarvedPercentage(year), rightFirst.getMeanStarvedPercentage(year));
+			for (Game.GrainType grainType : Game.GrainType.values())
+				assertEquals(leftFirst.getMeanBushels(year, grainType), rightFirst.getMeanBushels(year, grainType));
+		}
+		assertThrows(IllegalArgumentException.class, () -> leftFirst.merge(new MonteCarloStatistics(5)));
+	}
+
+	@Test
+	public void testMonteCarloRunner() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			MonteCarloStatistics statistics = new MonteCarloRunner(Difficulty.EASY, SubsistencePolicy::new, 10, pool).run(50, 42);
+
+			assertEquals(50, statistics.getSimulations());
+			assertEquals(50, statistics.getCitiesPlaying(0));
+			long outcomes = 0;
+			for (SimulationSummary.Outcome outcome : SimulationSummary.Outcome.values())
+				outcomes += statistics.getOutcomes(outcome);
+			assertEquals(50, outcomes);
+			assertEquals(statistics.getCitiesPlaying(9), statistics.getOutcomes(SimulationSummary.Outcome.SURVIVED));
+			assertEquals(1.0, statistics.getWinRate() + statistics.getStarvationRisk(), 1e-9);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testMonteCarloRunIsReproducibleOnAnyNumberOfThreads() {
+		MonteCarloStatistics[] statistics = new MonteCarloStatistics[2];
+		for (int threads = 1; threads <= 2; threads++) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				statistics[threads - 1] = new MonteCarloRunner(Difficulty.MEDIUM, SubsistencePolicy::new, 10, pool).run(40, 7);
+			} finally {
+				pool.shutdown();
+			}
+		}
+
+		for (SimulationSummary.Outcome outcome : SimulationSummary.Outcome.values())
+			assertEquals(statistics[0].getOutcomes(outcome), statistics[1].getOutcomes(outcome));
+		for (int year = 0; year < 10; year++) {
+			assertEquals(statistics[0].getCitiesPlaying(year), statistics[1].getCitiesPlaying(year));
+			assertEquals(statistics[0].getMeanResidents(year), statistics[1].getMeanResidents(year));
+			for (Game.GrainType grainType : Game.GrainType.values())
+				assertEquals(statistics[0].getMeanBushels(year, grainType), statistics[1].getMeanBushels(year, grainType));
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package de.htwsaar.esch.codeopolis.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import de.htwsaar.esch.Codeopolis.DomainModel.City;
+import de.htwsaar.esch.Codeopolis.DomainModel.Game;
+import de.htwsaar.esch.Codeopolis.DomainModel.GameConfig;
+import de.htwsaar.esch.Codeopolis.DomainModel.WeatherService;
+import de.htwsaar.esch.Codeopolis.DomainModel.Game.Difficulty;
+import de.htwsaar.esch.Codeopolis.DomainModel.Plants.Grain;
+import de.htwsaar.esch.Codeopolis.Exceptions.GameException;
+
+/**
+ * Unit tests for the WeatherService class.
+ */
+class WeatherServiceTest {
+
+	@Test
+	void testConditionsAreCached() {
+		WeatherService weather = new WeatherService(3, 42);
+		Grain.Conditions conditions = weather.getConditions(1, 4);
+		assertSame(conditions, weather.getConditions(1, 4));
+		// Generating further batches keeps the years generated before
+		weather.getConditions(2, 35);
+		assertSame(conditions, weather.getConditions(1, 4));
+		assertEquals(conditions.getSoilConditions(), weather.getSoilConditions(1, 4));
+		assertEquals(conditions.getAverageTemperatureSummer(), weather.getAverageTemperatureSummer(1, 4));
+		assertEquals(conditions.getAverageTemperatureWinter(), weather.getAverageTemperatureWinter(1, 4));
+		assertThrows(IllegalArgumentException.class, () -> weather.getConditions(3, 0));
+		assertThrows(IllegalArgumentException.class, () -> weather.getConditions(0, -1));
+	}
+
+	@Test
+	void testDiscardBefore() {
+		WeatherService weather = new WeatherService(2, 4, new SplittableRandom(7));
+		Grain.Conditions conditions = weather.getConditions(1, 9);
+		weather.discardBefore(9);
+		// Only whole batches before the year are released
+		assertSame(conditions, weather.getConditions(1, 9));
+		assertNotNull(weather.getConditions(0, 8));
+		assertThrows(IllegalStateException.class, () -> weather.getConditions(0, 7));
+		// The years after the discarded ones stay the same as without discarding
+		WeatherService reference = new WeatherService(2, 4, new SplittableRandom(7));
+		assertEquals(reference.getSoilConditions(1, 30), weather.getSoilConditions(1, 30));
+	}
+
+	@Test
+	void testSingleRegionMatchesRandomConditions() {
+		WeatherService weather = new WeatherService(1, 4, new SplittableRandom(5));
+		SplittableRandom random = new SplittableRandom(5);
+		for (int year = 0; year < 25; year++) {
+			Grain.Conditions expected = Grain.Conditions.generateRandomConditions(random);
+			Grain.Conditions actual = weather.getConditions(0, year);
+			assertEquals(expected.getSoilConditions(), actual.getSoilConditions());
+			assertEquals(expected.getAverageTemperatureSummer(), actual.getAverageTemperatureSummer());
+			assertEquals(expected.getAverageTemperatureWinter(), actual.getAverageTemperatureWinter());
+			assertEquals(expected.isDrought(), actual.isDrought());
+			assertEquals(expected.isFusarium(), actual.isFusarium());
+			assertEquals(expected.isLeafDrought(), actual.isLeafDrought());
+			assertEquals(expected.isPowderyMildew(), actual.isPowderyMildew());
+			assertEquals(expected.isBarleyGoOutFly(), actual.isBarleyGoOutFly());
+			assertEquals(expected.isDeliaFly(), actual.isDeliaFly());
+			assertEquals(expected.isFritFly(), actual.isFritFly());
+		}
+	}
+
+	@Test
+	void testCitiesOfARegionShareTheWeather() throws GameException {
+		WeatherService weather = new WeatherService(2, 42);
+		GameConfig config = new GameConfig(Difficulty.EASY);
+		int[] harvested = new int[2];
+		for (int i = 0; i < 2; i++) {
+			City city = new City("id" + i, "City " + i, config, 100L + i);
+			city.setWeather(weather, 1);
+			int[] acres = new int[Game.GrainType.values().length];
+			acres[Game.GrainType.BARLEY.ordinal()] = 100;
+			city.plant(acres);
+			harvested[i] = city.runTurn().getBushelsHarvested()[Game.GrainType.BARLEY.ordinal()];
+		}
+		assertEquals(harvested[0], harvested[1]);
+		assertThrows(IllegalArgumentException.class, () -> new City("id", "City", config).setWeather(weather, 2));
+	}
+}